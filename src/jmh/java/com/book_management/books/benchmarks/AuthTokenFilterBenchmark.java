@@ -0,0 +1,82 @@
+package com.book_management.books.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.ServletException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.book_management.books.models.ERole;
+import com.book_management.books.models.Role;
+import com.book_management.books.models.User;
+import com.book_management.books.security.jwt.AuthTokenFilter;
+import com.book_management.books.security.jwt.JwtUtils;
+import com.book_management.books.security.services.UserDetailsCache;
+import com.book_management.books.security.services.UserDetailsImpl;
+import com.book_management.books.security.services.UserDetailsServiceImpl;
+
+/**
+ * Authenticates a request with a valid bearer token through {@link AuthTokenFilter}, with the
+ * principal already cached as it is in steady state.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    private AuthTokenFilter filter;
+    private User user;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = new JwtUtils(JwtBenchmark.SECRET, 86400000, 10000);
+        UserDetailsCache userDetailsCache = new UserDetailsCache(10000, 300000);
+
+        user = new User("reader", "reader@example.com", "secret", new Role(ERole.ROLE_USER));
+        user.setId(1L);
+        UserDetailsImpl principal = userDetailsCache.get(user.getUsername(), username -> UserDetailsImpl.build(user));
+
+        // The repository is never reached while the principal is cached.
+        filter = new AuthTokenFilter(jwtUtils, new UserDetailsServiceImpl(null, userDetailsCache));
+
+        Authentication authentication =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        authorization = "Bearer " + jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public Authentication authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.addHeader("Authorization", authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public UserDetailsImpl buildUserDetails() {
+        return UserDetailsImpl.build(user);
+    }
+}
@@ -0,0 +1,95 @@
+package com.book_management.books.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.book_management.books.payload.response.BookResponse;
+import com.book_management.books.payload.response.CursorPageResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Compares the response encodings offered by the API for a page of books: CPU time per
+ * encoding, and bytes on the wire in the {@code bytes} counter. The gzip variants use the
+ * default deflate level, as server response compression does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookEncodingBenchmark {
+
+    // The default and the largest page size the API serves (pageSize and maxPageSize).
+    @Param({"50", "500"})
+    private int size;
+
+    @Param({"json", "json-gzip", "cbor", "cbor-gzip", "smile", "smile-gzip"})
+    private String encoding;
+
+    private ObjectMapper objectMapper;
+    private boolean gzip;
+    private CursorPageResponse<BookResponse> page;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long bytes;
+    }
+
+    @Setup
+    public void setUp() {
+        String format = encoding.replace("-gzip", "");
+        gzip = encoding.endsWith("-gzip");
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+            case "smile" -> Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+
+        List<BookResponse> books = new ArrayList<>(size);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < size; i++) {
+            LocalDate end = i % 3 == 0 ? start.plusDays(i % 1000 + 14) : null;
+            books.add(new BookResponse((long) i + 1, "Title " + i, "Author " + (i % 50),
+                    start.plusDays(i % 1000), end, 0L));
+        }
+        page = new CursorPageResponse<>(books, "cursor");
+    }
+
+    @Benchmark
+    public byte[] encodePage(WireSize wireSize) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (gzip) {
+            try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+                objectMapper.writeValue(gzipOut, page);
+            }
+        } else {
+            objectMapper.writeValue(out, page);
+        }
+        byte[] encoded = out.toByteArray();
+        wireSize.bytes = encoded.length;
+        return encoded;
+    }
+}
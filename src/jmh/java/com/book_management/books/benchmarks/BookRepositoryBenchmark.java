@@ -0,0 +1,141 @@
+package com.book_management.books.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+
+import com.book_management.books.BooksApplication;
+import com.book_management.books.models.Book;
+import com.book_management.books.models.ERole;
+import com.book_management.books.models.Role;
+import com.book_management.books.models.User;
+import com.book_management.books.payload.response.BookResponse;
+import com.book_management.books.repository.BookCursor;
+import com.book_management.books.repository.BookRepository;
+import com.book_management.books.repository.BookSpecifications;
+import com.book_management.books.repository.RoleRepository;
+import com.book_management.books.repository.UserRepository;
+
+/**
+ * Runs the book list queries against an in-memory H2 database in MySQL mode, with the
+ * schema generated from the entity mappings. The full application context is started on a
+ * random port because the security configuration needs a servlet environment.
+ * <p>
+ * Every iteration repeats the same queries, so with the Hibernate query cache on they measure cache
+ * hits. The {@code queryCache=false} runs measure the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"1000", "10000"})
+    private int librarySize;
+
+    @Param({"false", "true"})
+    private boolean queryCache;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private Long userId;
+    private Long bookId;
+    private BookCursor middleCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BooksApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.flyway.enabled=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=" + queryCache,
+                        // Admission control would otherwise reject most of the load.
+                        "book_management.app.ipRateLimitPerSecond=1000000",
+                        "book_management.app.ipRateLimitBurst=1000000",
+                        "book_management.app.userRateLimitPerSecond=1000000",
+                        "book_management.app.userRateLimitBurst=1000000",
+                        "book_management.app.dbMaxConcurrentRequests=10000",
+                        "logging.level.root=WARN")
+                .run();
+
+        bookRepository = context.getBean(BookRepository.class);
+        Role role = context.getBean(RoleRepository.class).save(new Role(ERole.ROLE_USER));
+        User user = context.getBean(UserRepository.class)
+                .save(new User("reader", "reader@example.com", "secret", role));
+        userId = user.getId();
+
+        List<Book> books = new ArrayList<>(librarySize);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < librarySize; i++) {
+            Book book = new Book("Title " + i, "Author " + (i % 50), start.plusDays(i % 1000));
+            if (i % 3 == 0) {
+                book.setReadingEndDate(start.plusDays(i % 1000 + 14));
+            }
+            books.add(book);
+        }
+        bookRepository.batchInsert(userId, books);
+
+        List<BookResponse> firstHalf = bookRepository.findResponses(
+                BookSpecifications.ownedBy(userId), Sort.by("id"), librarySize / 2);
+        BookResponse middle = firstHalf.get(firstHalf.size() - 1);
+        bookId = middle.getId();
+        middleCursor = BookCursor.of(middle, "id");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookResponse> firstPage() {
+        return bookRepository.findResponses(BookSpecifications.ownedBy(userId), Sort.by("id"), PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<BookResponse> middlePage() {
+        return bookRepository.findResponses(
+                BookSpecifications.ownedBy(userId).and(BookSpecifications.after(middleCursor, Sort.Direction.ASC)),
+                Sort.by("id"),
+                PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<BookResponse> firstPageSortedByEndDate() {
+        return bookRepository.findResponses(
+                BookSpecifications.ownedBy(userId),
+                Sort.by(Sort.Direction.DESC, "readingEndDate", "id"),
+                PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public Book findById() {
+        return bookRepository.findById(bookId).orElseThrow();
+    }
+}
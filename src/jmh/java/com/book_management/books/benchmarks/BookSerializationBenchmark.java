@@ -0,0 +1,73 @@
+package com.book_management.books.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.book_management.books.models.Book;
+import com.book_management.books.payload.response.BookResponse;
+import com.book_management.books.payload.response.CursorPageResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serializes book lists to JSON the way the MVC message converter does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSerializationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Book> entities;
+    private CursorPageResponse<BookResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        entities = new ArrayList<>(size);
+        List<BookResponse> responses = new ArrayList<>(size);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < size; i++) {
+            Book book = new Book("Title " + i, "Author " + (i % 50), start.plusDays(i % 1000));
+            book.setId((long) i + 1);
+            if (i % 3 == 0) {
+                book.setReadingEndDate(start.plusDays(i % 1000 + 14));
+            }
+            entities.add(book);
+            responses.add(BookResponse.from(book));
+        }
+        page = new CursorPageResponse<>(responses, "cursor");
+    }
+
+    @Benchmark
+    public byte[] serializeEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] serializeResponsePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,65 @@
+package com.book_management.books.benchmarks;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.book_management.books.security.jwt.JwtUtils;
+import com.book_management.books.security.services.UserDetailsImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    static final String SECRET = Base64.getEncoder()
+            .encodeToString("benchmark-secret-benchmark-secret-0123456789".getBytes());
+
+    private JwtUtils cachingJwtUtils;
+    private JwtUtils uncachedJwtUtils;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtils = new JwtUtils(SECRET, 86400000, 10000);
+        uncachedJwtUtils = new JwtUtils(SECRET, 86400000, 0);
+
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "reader", "reader@example.com", "secret",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = cachingJwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String validateCachedToken() {
+        return cachingJwtUtils.validateAndGetUserName(token);
+    }
+
+    @Benchmark
+    public String validateUncachedToken() {
+        return uncachedJwtUtils.validateAndGetUserName(token);
+    }
+}
@@ -0,0 +1,142 @@
+package com.book_management.books.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.book_management.books.BooksApplication;
+import com.book_management.books.models.ERole;
+import com.book_management.books.models.Role;
+import com.book_management.books.repository.RoleRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Load test comparing platform and virtual request threads: many concurrent clients list
+ * books and sign in against a running server backed by H2. Each JMH thread is one client, so
+ * {@code @Threads} is the concurrency level. Run with {@code -prof gc} or look at the sample
+ * percentiles for latency; pinned virtual threads are logged by {@code VirtualThreadPinningMonitor}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class ThreadingModeLoadBenchmark {
+
+    private static final String PASSWORD = "benchmark-password";
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String authorization;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = new SpringApplicationBuilder(BooksApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.flyway.enabled=false",
+                        // Admission control would otherwise reject most of the load.
+                        "book_management.app.ipRateLimitPerSecond=1000000",
+                        "book_management.app.ipRateLimitBurst=1000000",
+                        "book_management.app.userRateLimitPerSecond=1000000",
+                        "book_management.app.userRateLimitBurst=1000000",
+                        "book_management.app.dbMaxConcurrentRequests=10000",
+                        "logging.level.root=WARN")
+                .run();
+        context.getBean(RoleRepository.class).save(new Role(ERole.ROLE_USER));
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        requireSuccess(post("/api/auth/signup", "{\"username\":\"reader\",\"email\":\"reader@example.com\",\"password\":\""
+                + PASSWORD + "\"}", null).statusCode());
+        HttpResponse<String> signIn = signInResponse();
+        requireSuccess(signIn.statusCode());
+        JsonNode login = new ObjectMapper().readTree(signIn.body());
+        authorization = "Bearer " + login.get("accessToken").asText();
+        for (int i = 0; i < 200; i++) {
+            requireSuccess(post("/api/books/add",
+                    "{\"title\":\"Title " + i + "\",\"author\":\"Author\",\"readingStartDate\":\"2024-01-01\"}",
+                    authorization).statusCode());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listBooks() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/books?size=50"))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        return requireSuccess(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    @Benchmark
+    @Threads(50)
+    public int signIn() throws IOException, InterruptedException {
+        return requireSuccess(signInResponse().statusCode());
+    }
+
+    // A rejected request must fail the run rather than be counted as throughput.
+    private static int requireSuccess(int status) {
+        if (status < 200 || status >= 300) {
+            throw new IllegalStateException("Unexpected HTTP status " + status);
+        }
+        return status;
+    }
+
+    private HttpResponse<String> signInResponse() throws IOException, InterruptedException {
+        return post("/api/auth/signin", "{\"username\":\"reader\",\"password\":\"" + PASSWORD + "\"}", null);
+    }
+
+    private HttpResponse<String> post(String path, String json, String auth) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (auth != null) {
+            builder.header("Authorization", auth);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
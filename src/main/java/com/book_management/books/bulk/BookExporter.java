@@ -0,0 +1,102 @@
+package com.book_management.books.bulk;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.book_management.books.payload.response.BookResponse;
+import com.book_management.books.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes a user's library to an output stream as NDJSON or CSV. Rows are read as projections
+ * through a forward-only database cursor, so memory use does not grow with the size of the library.
+ */
+@Component
+public class BookExporter {
+
+    private static final String CSV_HEADER = "id,title,author,readingStartDate,readingEndDate";
+
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+
+    public BookExporter(BookRepository bookRepository, ObjectMapper objectMapper) {
+        this.bookRepository = bookRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportNdjson(Long userId, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        try (Stream<BookResponse> books = bookRepository.streamByUserId(userId)) {
+            Iterator<BookResponse> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                BookResponse book = iterator.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", book.getId());
+                generator.writeStringField("title", book.getTitle());
+                generator.writeStringField("author", book.getAuthor());
+                writeDateField(generator, "readingStartDate", book.getReadingStartDate());
+                writeDateField(generator, "readingEndDate", book.getReadingEndDate());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        generator.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCsv(Long userId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        try (Stream<BookResponse> books = bookRepository.streamByUserId(userId)) {
+            Iterator<BookResponse> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                BookResponse book = iterator.next();
+                writer.write(String.valueOf(book.getId()));
+                writer.write(',');
+                writer.write(csvValue(book.getTitle()));
+                writer.write(',');
+                writer.write(csvValue(book.getAuthor()));
+                writer.write(',');
+                writer.write(csvValue(book.getReadingStartDate()));
+                writer.write(',');
+                writer.write(csvValue(book.getReadingEndDate()));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeDateField(JsonGenerator generator, String name, LocalDate date) throws IOException {
+        if (date == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeStringField(name, date.toString());
+        }
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,229 @@
+package com.book_management.books.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.book_management.books.models.Book;
+import com.book_management.books.payload.response.BookImportResponse;
+import com.book_management.books.payload.response.BookImportResponse.RowError;
+import com.book_management.books.repository.BookRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports books from NDJSON or CSV bodies. Input is read line by line, each row is validated
+ * against the {@link Book} constraints and valid rows are written in JDBC batches, so the
+ * whole body is never held in memory.
+ */
+@Component
+public class BookImporter {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final BookRepository bookRepository;
+    private final Validator validator;
+    private final ObjectReader bookReader;
+    private final int batchSize;
+
+    public BookImporter(
+            BookRepository bookRepository,
+            Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${book_management.app.importBatchSize}") int batchSize) {
+        this.bookRepository = bookRepository;
+        this.validator = validator;
+        this.bookReader = objectMapper.readerFor(Book.class);
+        this.batchSize = batchSize;
+    }
+
+    public BookImportResponse importNdjson(Long userId, InputStream body) throws IOException {
+        Batch batch = new Batch(userId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(lineNumber, bookReader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    batch.reject(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+        return batch.finish();
+    }
+
+    public BookImportResponse importCsv(Long userId, InputStream body) throws IOException {
+        Batch batch = new Batch(userId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String header = reader.readLine();
+            if (header == null) {
+                return batch.finish();
+            }
+
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> names = parseCsvLine(header);
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).trim(), i);
+            }
+            if (!columns.containsKey("title") || !columns.containsKey("author")) {
+                batch.reject(1, "Header must contain title and author columns");
+                return batch.finish();
+            }
+
+            String line;
+            long lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    List<String> fields = parseCsvLine(line);
+                    Book book = new Book(
+                            field(fields, columns, "title"),
+                            field(fields, columns, "author"),
+                            dateField(fields, columns, "readingStartDate"));
+                    book.setReadingEndDate(dateField(fields, columns, "readingEndDate"));
+                    batch.add(lineNumber, book);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    batch.reject(lineNumber, e.getMessage());
+                }
+            }
+        }
+        return batch.finish();
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static LocalDate dateField(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        return value == null || value.isBlank() ? null : LocalDate.parse(value.trim());
+    }
+
+    // RFC 4180 fields without embedded line breaks.
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (quoted && c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                current.append('"');
+                i++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+            i++;
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private final class Batch {
+
+        private final Long userId;
+        private final List<Book> pending = new ArrayList<>(batchSize);
+        private final List<Long> pendingLines = new ArrayList<>(batchSize);
+        private final List<RowError> errors = new ArrayList<>();
+        private int imported;
+        private int failed;
+
+        Batch(Long userId) {
+            this.userId = userId;
+        }
+
+        void add(long lineNumber, Book book) {
+            if (book == null) {
+                reject(lineNumber, "Empty row");
+                return;
+            }
+
+            Set<ConstraintViolation<Book>> violations = validator.validate(book);
+            if (!violations.isEmpty()) {
+                reject(lineNumber, violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                return;
+            }
+
+            pending.add(book);
+            pendingLines.add(lineNumber);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long lineNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(lineNumber, message));
+            }
+        }
+
+        BookImportResponse finish() {
+            flush();
+            return new BookImportResponse(imported, failed, errors);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            boolean[] inserted = bookRepository.batchInsert(userId, pending);
+            for (int i = 0; i < inserted.length; i++) {
+                if (inserted[i]) {
+                    imported++;
+                    continue;
+                }
+                // Rows the batch did not write are retried one by one, which finds the failing lines.
+                try {
+                    bookRepository.insert(userId, pending.get(i));
+                    imported++;
+                } catch (DataAccessException e) {
+                    reject(pendingLines.get(i), "Could not be saved: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+            pending.clear();
+            pendingLines.clear();
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.book_management.books.changes;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.book_management.books.payload.response.BookChangeEvent;
+import com.book_management.books.payload.response.BookResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * Per-user feed of library changes. Every write bumps the library version and appends an event
+ * to a bounded ring buffer, from which clients catch up after a reconnect ({@code Last-Event-ID})
+ * or by polling for the delta since a version they already have. Live subscribers receive events
+ * as Server-Sent Events.
+ * <p>
+ * Events are only queued while the feed's lock is held; a bounded pool writes them to the clients,
+ * so a slow client never holds up the writer publishing a change or the heartbeat. A subscriber
+ * that falls a whole buffer behind, or whose send has been blocked longer than the send timeout,
+ * is dropped and reconnects with {@code Last-Event-ID}. A blocked send keeps its pool thread until
+ * the container's write timeout fails it.
+ */
+@Component
+public class BookChangeFeed implements AutoCloseable {
+
+    // Queued in place of an event to send a keep-alive comment.
+    private static final BookChangeEvent KEEP_ALIVE = new BookChangeEvent(null, null, null, null);
+
+    private final LibraryVersionTracker libraryVersionTracker;
+    private final Cache<Long, UserFeed> feeds;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMs;
+    private final long sendTimeoutNanos;
+    private final ThreadPoolExecutor sendExecutor;
+
+    public BookChangeFeed(
+            LibraryVersionTracker libraryVersionTracker,
+            @Value("${book_management.app.changeFeedBufferSize}") int bufferSize,
+            @Value("${book_management.app.changeFeedMaxUsers}") long maxUsers,
+            @Value("${book_management.app.changeFeedIdleMs}") long idleMs,
+            @Value("${book_management.app.changeFeedMaxSubscribers}") int maxSubscribers,
+            @Value("${book_management.app.changeFeedEmitterTimeoutMs}") long emitterTimeoutMs,
+            @Value("${book_management.app.changeFeedSendThreads}") int sendThreads,
+            @Value("${book_management.app.changeFeedSendQueueCapacity}") int sendQueueCapacity,
+            @Value("${book_management.app.changeFeedSendTimeoutMs}") long sendTimeoutMs) {
+        this.libraryVersionTracker = libraryVersionTracker;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        this.sendExecutor = new ThreadPoolExecutor(
+                sendThreads, sendThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueueCapacity),
+                new CustomizableThreadFactory("change-feed-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.feeds = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMillis(idleMs))
+                .removalListener((Long userId, UserFeed feed, RemovalCause cause) -> {
+                    if (feed != null) {
+                        feed.close();
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Bumps the user's library version and publishes the change under it.
+     *
+     * @param book the book's new state, or {@code null} for deletions, resets and updates applied
+     *             without reading the book back
+     */
+    public void publish(Long userId, BookChangeType type, Long bookId, BookResponse book) {
+        feed(userId).publish(userId, type, bookId, book);
+    }
+
+    /**
+     * Returns the changes after the given version, or {@code null} if some of them are no longer
+     * buffered and the client has to reload the library.
+     */
+    public List<BookChangeEvent> changesSince(Long userId, long version) {
+        UserFeed feed = feeds.getIfPresent(userId);
+        if (feed == null) {
+            return version == libraryVersionTracker.currentVersion(userId) ? List.of() : null;
+        }
+        return feed.changesSince(version);
+    }
+
+    /**
+     * Opens a stream of the user's changes, first replaying those after {@code lastEventId} if given.
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        UserFeed feed = feed(userId);
+        Subscriber subscriber = new Subscriber(feed, emitter);
+        emitter.onCompletion(() -> feed.unsubscribe(subscriber));
+        emitter.onTimeout(() -> feed.unsubscribe(subscriber));
+        emitter.onError(e -> feed.unsubscribe(subscriber));
+        feed.subscribe(userId, subscriber, lastEventId == null ? null : libraryVersionTracker.parseChangeToken(lastEventId),
+                lastEventId != null);
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${book_management.app.changeFeedHeartbeatMs}")
+    public void heartbeat() {
+        for (Map.Entry<Long, UserFeed> entry : feeds.asMap().entrySet()) {
+            if (entry.getValue().heartbeat()) {
+                // Keep feeds with live subscribers from expiring.
+                feeds.getIfPresent(entry.getKey());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        sendExecutor.shutdownNow();
+    }
+
+    private UserFeed feed(Long userId) {
+        return feeds.get(userId, id -> new UserFeed(bufferSize, libraryVersionTracker.currentVersion(id)));
+    }
+
+    private final class UserFeed {
+
+        private final Lock lock = new ReentrantLock();
+        private final long[] versions;
+        private final BookChangeEvent[] events;
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private int head;
+        private int size;
+        // Every change after this version is still buffered.
+        private long floor;
+
+        UserFeed(int capacity, long floor) {
+            this.versions = new long[capacity];
+            this.events = new BookChangeEvent[capacity];
+            this.floor = floor;
+        }
+
+        void publish(Long userId, BookChangeType type, Long bookId, BookResponse book) {
+            List<Subscriber> lagging = new ArrayList<>();
+            lock.lock();
+            try {
+                // Bumping and queueing under the lock keeps buffered and streamed events in version order.
+                long version = libraryVersionTracker.bump(userId);
+                BookChangeEvent event = new BookChangeEvent(libraryVersionTracker.changeToken(version), type, bookId, book);
+                int tail = (head + size) % events.length;
+                if (size == events.length) {
+                    floor = versions[head];
+                    head = (head + 1) % events.length;
+                } else {
+                    size++;
+                }
+                versions[tail] = version;
+                events[tail] = event;
+                for (Subscriber subscriber : subscribers) {
+                    if (!subscriber.offer(event)) {
+                        lagging.add(subscriber);
+                    }
+                }
+                subscribers.removeAll(lagging);
+            } finally {
+                lock.unlock();
+            }
+            lagging.forEach(Subscriber::close);
+        }
+
+        List<BookChangeEvent> changesSince(long version) {
+            lock.lock();
+            try {
+                return changesSinceUnlocked(version);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void subscribe(Long userId, Subscriber subscriber, Long lastVersion, boolean resuming) {
+            Subscriber evicted = null;
+            lock.lock();
+            try {
+                if (resuming) {
+                    List<BookChangeEvent> missed = lastVersion == null ? null : changesSinceUnlocked(lastVersion);
+                    if (missed == null) {
+                        String token = libraryVersionTracker.changeToken(libraryVersionTracker.currentVersion(userId));
+                        missed = List.of(new BookChangeEvent(token, BookChangeType.RESET, null, null));
+                    }
+                    for (BookChangeEvent event : missed) {
+                        if (!subscriber.offer(event)) {
+                            subscriber.close();
+                            return;
+                        }
+                    }
+                }
+                if (subscribers.size() >= maxSubscribers) {
+                    evicted = subscribers.remove(0);
+                }
+                subscribers.add(subscriber);
+            } finally {
+                lock.unlock();
+            }
+            if (evicted != null) {
+                evicted.close();
+            }
+        }
+
+        void unsubscribe(Subscriber subscriber) {
+            lock.lock();
+            try {
+                subscribers.remove(subscriber);
+            } finally {
+                lock.unlock();
+            }
+            subscriber.discard();
+        }
+
+        /**
+         * Queues a keep-alive for every idle subscriber, drops the stalled ones and returns whether
+         * any are still connected.
+         */
+        boolean heartbeat() {
+            List<Subscriber> stalled = new ArrayList<>();
+            boolean connected;
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.isStalled(now) || !subscriber.keepAlive()) {
+                        stalled.add(subscriber);
+                    }
+                }
+                subscribers.removeAll(stalled);
+                connected = !subscribers.isEmpty();
+            } finally {
+                lock.unlock();
+            }
+            stalled.forEach(Subscriber::close);
+            return connected;
+        }
+
+        void close() {
+            List<Subscriber> closing;
+            lock.lock();
+            try {
+                closing = new ArrayList<>(subscribers);
+                subscribers.clear();
+            } finally {
+                lock.unlock();
+            }
+            closing.forEach(Subscriber::close);
+        }
+
+        private List<BookChangeEvent> changesSinceUnlocked(long version) {
+            if (version < floor) {
+                return null;
+            }
+            List<BookChangeEvent> changes = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                int index = (head + i) % events.length;
+                if (versions[index] > version) {
+                    changes.add(events[index]);
+                }
+            }
+            return changes;
+        }
+    }
+
+    /**
+     * One SSE connection. Events wait in a backlog of at most one buffer's worth and are written in
+     * order by a single task on the send pool at a time.
+     */
+    private final class Subscriber implements Runnable {
+
+        private final UserFeed feed;
+        private final SseEmitter emitter;
+        private final Lock lock = new ReentrantLock();
+        private final ArrayDeque<BookChangeEvent> backlog = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean closed;
+        // When the send in progress started, or 0 when none is.
+        private volatile long sendStartedAt;
+
+        Subscriber(UserFeed feed, SseEmitter emitter) {
+            this.feed = feed;
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues the event for sending; returns {@code false} if the subscriber is closed or too far behind.
+         */
+        boolean offer(BookChangeEvent event) {
+            lock.lock();
+            try {
+                if (closed || backlog.size() >= bufferSize) {
+                    return false;
+                }
+                backlog.add(event);
+                if (!scheduled) {
+                    sendExecutor.execute(this);
+                    scheduled = true;
+                }
+                return true;
+            } catch (RejectedExecutionException e) {
+                backlog.clear();
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Only needed when nothing else is on the way.
+        boolean keepAlive() {
+            lock.lock();
+            try {
+                if (!backlog.isEmpty() || scheduled) {
+                    return true;
+                }
+            } finally {
+                lock.unlock();
+            }
+            return offer(KEEP_ALIVE);
+        }
+
+        boolean isStalled(long now) {
+            long started = sendStartedAt;
+            return started != 0 && now - started > sendTimeoutNanos;
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                BookChangeEvent event;
+                boolean complete;
+                lock.lock();
+                try {
+                    event = closed ? null : backlog.poll();
+                    complete = closed;
+                    if (event == null) {
+                        scheduled = false;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                if (event == null) {
+                    if (complete) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+
+                sendStartedAt = System.nanoTime();
+                try {
+                    send(event);
+                } catch (IOException | IllegalStateException e) {
+                    discard();
+                    feed.unsubscribe(this);
+                    return;
+                } finally {
+                    sendStartedAt = 0;
+                }
+            }
+        }
+
+        /**
+         * Stops the subscriber and completes its emitter, which is left to the send task if one is
+         * running, since completing waits for a send in progress.
+         */
+        void close() {
+            boolean idle;
+            lock.lock();
+            try {
+                closed = true;
+                backlog.clear();
+                idle = !scheduled;
+            } finally {
+                lock.unlock();
+            }
+            if (idle) {
+                emitter.complete();
+            }
+        }
+
+        // Stops the subscriber whose emitter is already finished.
+        void discard() {
+            lock.lock();
+            try {
+                closed = true;
+                backlog.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void send(BookChangeEvent event) throws IOException {
+            if (event == KEEP_ALIVE) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+                return;
+            }
+            emitter.send(SseEmitter.event()
+                    .id(event.getId())
+                    .name(event.getType().name().toLowerCase(Locale.ROOT))
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.book_management.books.changes;
+
+public enum BookChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /** Several books changed at once; clients should reload the library. */
+    RESET
+}
@@ -0,0 +1,96 @@
+package com.book_management.books.changes;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Tracks a version per user library that changes on every write. Versions are drawn from one
+ * process-wide sequence, so a user whose entry was evicted never gets back a version that was
+ * handed out before, and the startup time in the ETag separates versions across restarts.
+ */
+@Component
+public class LibraryVersionTracker {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Cache<Long, Long> versions;
+
+    public LibraryVersionTracker(@Value("${book_management.app.libraryVersionMaxUsers}") long maxUsers) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public long currentVersion(Long userId) {
+        return versions.get(userId, id -> sequence.incrementAndGet());
+    }
+
+    public long bump(Long userId) {
+        long version = sequence.incrementAndGet();
+        versions.put(userId, version);
+        return version;
+    }
+
+    /**
+     * Weak ETag for list and search responses. Tomcat only compresses responses whose ETag is weak,
+     * and these are the large ones; they are only ever compared in {@code If-None-Match}.
+     */
+    public String collectionETag(Long userId) {
+        return "W/\"" + changeToken(currentVersion(userId)) + "\"";
+    }
+
+    /**
+     * Opaque token naming a library version, used as the change feed's event id. The collection
+     * ETag is the same token as a weak tag, so a client can ask for the changes since the list it holds.
+     */
+    public String changeToken(long version) {
+        return epoch + "-" + version;
+    }
+
+    /**
+     * Returns the version named by a change token, or {@code null} if the token is malformed or was
+     * issued before the last restart.
+     */
+    public Long parseChangeToken(String token) {
+        if (token != null && token.startsWith("W/")) {
+            token = token.substring(2);
+        }
+        if (token != null && token.length() > 1 && token.startsWith("\"") && token.endsWith("\"")) {
+            token = token.substring(1, token.length() - 1);
+        }
+        String prefix = epoch + "-";
+        if (token == null || !token.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(token.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Strong, because If-Match compares strongly; a single book is below the compression threshold anyway.
+    public static String bookETag(Long bookId, Long version) {
+        return "\"" + bookId + "-" + version + "\"";
+    }
+
+    /**
+     * Returns the version named by a book ETag, or {@code null} if the tag does not belong to the book.
+     */
+    public static Long parseBookVersion(Long bookId, String eTag) {
+        String prefix = "\"" + bookId + "-";
+        if (eTag == null || !eTag.startsWith(prefix) || !eTag.endsWith("\"") || eTag.length() <= prefix.length() + 1) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eTag.substring(prefix.length(), eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
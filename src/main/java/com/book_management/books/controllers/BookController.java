@@ -1,206 +1,567 @@
 package com.book_management.books.controllers;
-import java.security.Principal;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 
-import com.book_management.books.models.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.book_management.books.bulk.BookExporter;
+import com.book_management.books.changes.BookChangeFeed;
+import com.book_management.books.changes.LibraryVersionTracker;
 import com.book_management.books.models.Book;
-import com.book_management.books.repository.BookRepository;
-import com.book_management.books.repository.UserRepository;
+import com.book_management.books.payload.request.BookIdsRequest;
+import com.book_management.books.payload.request.BookPatchRequest;
+import com.book_management.books.payload.request.MarkReadRequest;
+import com.book_management.books.payload.response.BookChangeEvent;
+import com.book_management.books.payload.response.BookChangesResponse;
+import com.book_management.books.payload.response.BookImportResponse;
+import com.book_management.books.payload.response.BookResponse;
+import com.book_management.books.payload.response.BulkOperationResponse;
+import com.book_management.books.payload.response.CursorPageResponse;
+import com.book_management.books.payload.response.ReadingHistoryResponse;
+import com.book_management.books.payload.response.ReadingStatsResponse;
+import com.book_management.books.repository.BookCursor;
+import com.book_management.books.repository.BookSpecifications;
+import com.book_management.books.search.BookSearchIndex;
+import com.book_management.books.security.services.UserDetailsImpl;
+import com.book_management.books.services.BookService;
+import com.book_management.books.stats.ReadingStatsAggregator;
+import com.fasterxml.jackson.databind.JsonNode;
 
 @CrossOrigin(origins = "http://localhost:8081")
 @RestController
 @RequestMapping("/api")
 public class BookController {
 
-    private static final String USER_NOT_FOUND = "User not found";
+    private static final int EXPORT_BUFFER_SIZE = 8192;
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final Set<String> QUERY_SORT_FIELDS = Set.of("id", "title", "readingStartDate", "readingEndDate");
 
-    private final BookRepository bookRepository;
-    private final UserRepository userRepository;
+    private final BookService bookService;
+    private final BookSearchIndex bookSearchIndex;
+    private final BookExporter bookExporter;
+    private final LibraryVersionTracker libraryVersionTracker;
+    private final BookChangeFeed bookChangeFeed;
+    private final ReadingStatsAggregator readingStatsAggregator;
+    private final Validator validator;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     @Autowired
     public BookController(
-            BookRepository bookRepository,
-            UserRepository userRepository) {
-        this.bookRepository = bookRepository;
-        this.userRepository = userRepository;
+            BookService bookService,
+            BookSearchIndex bookSearchIndex,
+            BookExporter bookExporter,
+            LibraryVersionTracker libraryVersionTracker,
+            BookChangeFeed bookChangeFeed,
+            ReadingStatsAggregator readingStatsAggregator,
+            Validator validator,
+            @Value("${book_management.app.pageSize}") int defaultPageSize,
+            @Value("${book_management.app.maxPageSize}") int maxPageSize) {
+        this.bookService = bookService;
+        this.bookSearchIndex = bookSearchIndex;
+        this.bookExporter = bookExporter;
+        this.libraryVersionTracker = libraryVersionTracker;
+        this.bookChangeFeed = bookChangeFeed;
+        this.readingStatsAggregator = readingStatsAggregator;
+        this.validator = validator;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     @GetMapping("/books")
-    public ResponseEntity<List<Book>> getAllBooks(Principal principal) {
-        String username = principal.getName();
-
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
-
-        List<Book> books = bookRepository.findByUser(user);
-
-        if (books.isEmpty()) {
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        }
-
-        return new ResponseEntity<>(books, HttpStatus.OK);
+    public ResponseEntity<CursorPageResponse<BookResponse>> getAllBooks(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            WebRequest webRequest) {
+        return findPage(userDetails.getId(), null, "id", Sort.Direction.ASC, cursor, size, webRequest);
     }
 
     @GetMapping("/books/{id}")
-    public ResponseEntity<Book> getBookById(@PathVariable("id") Long id, Principal principal) {
-        String username = principal.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
-
-        Optional<Book> bookData = bookRepository.findById(id);
-        if (bookData.isPresent() && bookData.get().getUser().equals(user)) {
-            return new ResponseEntity<>(bookData.get(), HttpStatus.OK);
-        } else {
+    public ResponseEntity<BookResponse> getBookById(
+            @PathVariable("id") Long id, @AuthenticationPrincipal UserDetailsImpl userDetails, WebRequest webRequest) {
+        Optional<BookResponse> bookData = bookService.findByIdAndUserId(id, userDetails.getId());
+        if (bookData.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
+        if (webRequest.checkNotModified(LibraryVersionTracker.bookETag(id, bookData.get().getVersion()))) {
+            return null;
+        }
+        return new ResponseEntity<>(bookData.get(), HttpStatus.OK);
     }
 
     @PostMapping("/books/add")
-    public ResponseEntity<Book> createBook(@RequestBody Book book, Principal principal) {
-        String username = principal.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
+    public ResponseEntity<BookResponse> createBook(@Valid @RequestBody Book book, @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        BookResponse created = bookService.create(userDetails.getId(), book);
+        return ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/books/{id}")
+                        .buildAndExpand(created.getId())
+                        .toUri())
+                .eTag(LibraryVersionTracker.bookETag(created.getId(), created.getVersion()))
+                .body(created);
+    }
 
-        book.setUser(user);
+    @PostMapping(value = "/books/import", consumes = "application/x-ndjson")
+    public ResponseEntity<BookImportResponse> importBooksNdjson(
+            InputStream body, @AuthenticationPrincipal UserDetailsImpl userDetails) throws IOException {
+        BookImportResponse result = bookService.importBooks(userDetails.getId(), body, false);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
 
-        Book savedBook = bookRepository.save(book);
-        return new ResponseEntity<>(savedBook, HttpStatus.CREATED);
+    @PostMapping(value = "/books/import", consumes = "text/csv")
+    public ResponseEntity<BookImportResponse> importBooksCsv(
+            InputStream body, @AuthenticationPrincipal UserDetailsImpl userDetails) throws IOException {
+        BookImportResponse result = bookService.importBooks(userDetails.getId(), body, true);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    @GetMapping("/books/export")
+    public ResponseEntity<StreamingResponseBody> exportBooks(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long userId = userDetails.getId();
+        boolean csv;
+        if (format.equalsIgnoreCase("csv")) {
+            csv = true;
+        } else if (format.equalsIgnoreCase("ndjson")) {
+            csv = false;
+        } else {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, EXPORT_BUFFER_SIZE) : out;
+            if (csv) {
+                bookExporter.exportCsv(userId, target);
+            } else {
+                bookExporter.exportNdjson(userId, target);
+            }
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(csv ? "books.csv" : "books.ndjson")
+                .build());
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
     }
 
     @PutMapping("/books/{id}")
-    public ResponseEntity<Book> updateBook(@PathVariable("id") Long id, @RequestBody Book book, Principal principal) {
-        String username = principal.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
-
-        Optional<Book> bookData = bookRepository.findById(id);
-        if (bookData.isPresent() && bookData.get().getUser().equals(user)) {
-            Book existingBook = bookData.get();
-            existingBook.setTitle(book.getTitle());
-            existingBook.setAuthor(book.getAuthor());
-            existingBook.setReadingStartDate(book.getReadingStartDate());
-            existingBook.setReadingEndDate(book.getReadingEndDate());
-            return new ResponseEntity<>(bookRepository.save(existingBook), HttpStatus.OK);
+    public ResponseEntity<BookResponse> updateBook(
+            @PathVariable("id") Long id,
+            @Valid @RequestBody Book book,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            expectedVersion = LibraryVersionTracker.parseBookVersion(id, ifMatch.trim());
+            if (expectedVersion == null) {
+                return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+            }
+        }
+
+        // A version mismatch surfaces as OptimisticLockingFailureException, answered with 412.
+        Optional<BookResponse> updated = bookService.update(id, userDetails.getId(), book, expectedVersion);
+        if (updated.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok()
+                .eTag(LibraryVersionTracker.bookETag(id, updated.get().getVersion()))
+                .body(updated.get());
+    }
+
+    @PatchMapping(value = "/books/{id}", consumes = {MERGE_PATCH_JSON, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<BookResponse> patchBook(
+            @PathVariable("id") Long id,
+            @RequestBody JsonNode document,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long userId = userDetails.getId();
+
+        BookPatchRequest patch;
+        try {
+            patch = BookPatchRequest.from(document);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        for (Map.Entry<String, Object> change : patch.getChanges().entrySet()) {
+            if (!validator.validateValue(Book.class, change.getKey(), change.getValue()).isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        Long expectedVersion = null;
+        if (ifMatch != null && !ifMatch.trim().equals("*")) {
+            expectedVersion = LibraryVersionTracker.parseBookVersion(id, ifMatch.trim());
+            if (expectedVersion == null) {
+                return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+            }
+        }
+
+        boolean minimal = prefer != null && prefer.contains("return=minimal");
+        Optional<BookResponse> updated;
+        if (patch.isEmpty()) {
+            // Nothing to write, but the book must still be the user's and at the expected version.
+            Optional<Long> version = bookService.findVersionByIdAndUserId(id, userId);
+            if (version.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+            }
+            if (expectedVersion != null && !expectedVersion.equals(version.get())) {
+                return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+            }
+            if (minimal) {
+                return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+            }
+            updated = bookService.findByIdAndUserId(id, userId);
+        } else if (minimal) {
+            // No body is wanted, so skip reading the book back.
+            if (!bookService.patch(id, userId, expectedVersion, patch.getChanges())) {
+                return patchRejected(id, userId);
+            }
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         } else {
+            updated = bookService.patchAndRead(id, userId, expectedVersion, patch.getChanges());
+            if (updated.isEmpty()) {
+                return patchRejected(id, userId);
+            }
+        }
+
+        if (updated.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
         }
+        return ResponseEntity.ok()
+                .eTag(LibraryVersionTracker.bookETag(id, updated.get().getVersion()))
+                .body(updated.get());
+    }
+
+    // The UPDATE matched nothing: either the version moved on or the book is not the user's.
+    private ResponseEntity<BookResponse> patchRejected(Long id, Long userId) {
+        return new ResponseEntity<>(bookService.existsByIdAndUserId(id, userId)
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.FORBIDDEN);
     }
 
     @DeleteMapping("/books/{id}")
-    public ResponseEntity<HttpStatus> deleteBook(@PathVariable("id") Long id) {
-        bookRepository.deleteById(id);
+    public ResponseEntity<HttpStatus> deleteBook(@PathVariable("id") Long id, @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        bookService.delete(userDetails.getId(), List.of(id));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
-    @GetMapping("/books/filter/status")
-    public ResponseEntity<List<Book>> getBooksByStatus(
-            @RequestParam("status") String status, Principal principal) {
-        String username = principal.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
+    @PostMapping("/books/bulk/delete")
+    public ResponseEntity<BulkOperationResponse> deleteBooks(
+            @Valid @RequestBody BookIdsRequest request, @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        int affected = bookService.delete(userDetails.getId(), request.getIds());
+        return new ResponseEntity<>(new BulkOperationResponse(affected), HttpStatus.OK);
+    }
+
+    @PutMapping("/books/bulk/readingEndDate")
+    public ResponseEntity<BulkOperationResponse> markBooksRead(
+            @Valid @RequestBody MarkReadRequest request, @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        int affected = bookService.markRead(userDetails.getId(), request.getIds(), request.getReadingEndDate());
+        return new ResponseEntity<>(new BulkOperationResponse(affected), HttpStatus.OK);
+    }
 
-        List<Book> books;
+    @DeleteMapping("/books/read")
+    public ResponseEntity<BulkOperationResponse> deleteReadBooks(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        int affected = bookService.deleteRead(userDetails.getId());
+        return new ResponseEntity<>(new BulkOperationResponse(affected), HttpStatus.OK);
+    }
+
+    @GetMapping("/books/filter/status")
+    public ResponseEntity<CursorPageResponse<BookResponse>> getBooksByStatus(
+            @RequestParam("status") String status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            WebRequest webRequest) {
+        Specification<Book> filter;
         if (status.equalsIgnoreCase("not-read")) {
-            books = bookRepository.findByUserAndReadingEndDateIsNull(user);
+            filter = BookSpecifications.isNotRead();
         } else if (status.equalsIgnoreCase("read")) {
-            books = bookRepository.findByUserAndReadingEndDateIsNotNull(user);
+            filter = BookSpecifications.isRead();
         } else {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
 
-        if (books.isEmpty()) {
-            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
-        }
-
-        return new ResponseEntity<>(books, HttpStatus.OK);
+        return findPage(userDetails.getId(), filter, "id", Sort.Direction.ASC, cursor, size, webRequest);
     }
 
     @GetMapping("/books/filter/date")
-    public ResponseEntity<List<Book>> getBooksByEndDate(
-            @RequestParam("endDate") String endDate, Principal principal) {
-        String username = principal.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
-
+    public ResponseEntity<CursorPageResponse<BookResponse>> getBooksByEndDate(
+            @RequestParam("endDate") String endDate,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            WebRequest webRequest) {
         LocalDate parsedDate = LocalDate.parse(endDate);
 
-        List<Book> books = bookRepository.findByUserAndReadingEndDate(user, parsedDate);
+        Specification<Book> filter = BookSpecifications.readingEndDateEquals(parsedDate);
 
-        if (books.isEmpty()) {
+        return findPage(userDetails.getId(), filter, "id", Sort.Direction.ASC, cursor, size, webRequest);
+    }
+
+    @GetMapping("/books/filter/title")
+    public ResponseEntity<CursorPageResponse<BookResponse>> getBooksByTitle(
+            @RequestParam("title") String title,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            WebRequest webRequest) {
+        Specification<Book> filter = BookSpecifications.titleContainsIgnoreCase(title);
+
+        return findPage(userDetails.getId(), filter, "id", Sort.Direction.ASC, cursor, size, webRequest);
+    }
+
+    @GetMapping("/books/query")
+    public ResponseEntity<CursorPageResponse<BookResponse>> queryBooks(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "text", required = false) String text,
+            @RequestParam(value = "startFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startFrom,
+            @RequestParam(value = "startTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startTo,
+            @RequestParam(value = "endFrom", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endFrom,
+            @RequestParam(value = "endTo", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endTo,
+            @RequestParam(value = "sort", defaultValue = "id") String sortField,
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            WebRequest webRequest) {
+        if (!QUERY_SORT_FIELDS.contains(sortField)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        Specification<Book> filter = Specification.where(null);
+        if (status != null) {
+            if (status.equalsIgnoreCase("not-read")) {
+                filter = filter.and(BookSpecifications.isNotRead());
+            } else if (status.equalsIgnoreCase("read")) {
+                filter = filter.and(BookSpecifications.isRead());
+            } else {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
+        if (text != null && !text.isBlank()) {
+            filter = filter.and(BookSpecifications.titleOrAuthorContainsIgnoreCase(text.trim()));
+        }
+        filter = filter
+                .and(BookSpecifications.dateBetween("readingStartDate", startFrom, startTo))
+                .and(BookSpecifications.dateBetween("readingEndDate", endFrom, endTo));
+
+        Sort.Direction direction = order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        return findPage(userDetails.getId(), filter, sortField, direction, cursor, size, webRequest);
+    }
+
+    @GetMapping("/books/search")
+    public ResponseEntity<List<BookResponse>> searchBooks(
+            @RequestParam("q") String query,
+            @RequestParam(value = "size", required = false) Integer size,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(libraryVersionTracker.collectionETag(userDetails.getId()))) {
+            return null;
+        }
+
+        List<Long> ids = bookSearchIndex.search(userDetails.getId(), query, pageSize(size));
+
+        if (ids.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
 
+        Specification<Book> spec = BookSpecifications.ownedBy(userDetails.getId())
+                .and(BookSpecifications.idIn(ids));
+        Map<Long, BookResponse> booksById = new HashMap<>();
+        for (BookResponse book : bookService.findResponses(spec, Sort.unsorted(), ids.size())) {
+            booksById.put(book.getId(), book);
+        }
+        List<BookResponse> books = ids.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+
         return new ResponseEntity<>(books, HttpStatus.OK);
     }
 
-    @GetMapping("/books/filter/title")
-    public ResponseEntity<List<Book>> getBooksByTitle(
-            @RequestParam("title") String title, Principal principal) {
-        String username = principal.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
+    @GetMapping("/books/stats")
+    public ResponseEntity<ReadingStatsResponse> getReadingStats(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return new ResponseEntity<>(readingStatsAggregator.getStats(userDetails.getId()), HttpStatus.OK);
+    }
 
-        List<Book> books = bookRepository.findByUserAndTitleContainingIgnoreCase(user, title);
+    @GetMapping("/books/changes")
+    public ResponseEntity<BookChangesResponse> getChanges(
+            @RequestParam("since") String since, @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long userId = userDetails.getId();
+        Long sinceVersion = libraryVersionTracker.parseChangeToken(since);
+        List<BookChangeEvent> changes = sinceVersion == null ? null : bookChangeFeed.changesSince(userId, sinceVersion);
 
-        if (books.isEmpty()) {
+        // The client is too far behind (or the server restarted) and has to reload the library.
+        if (changes == null) {
+            return new ResponseEntity<>(HttpStatus.GONE);
+        }
+        if (changes.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
 
-        return new ResponseEntity<>(books, HttpStatus.OK);
+        String version = changes.get(changes.size() - 1).getId();
+        return new ResponseEntity<>(new BookChangesResponse(version, changes), HttpStatus.OK);
     }
 
-    @GetMapping("/books/sort/startDate")
-    public ResponseEntity<List<Book>> getBooksSortedByStartDate(
-            @RequestParam(value = "order", defaultValue = "asc") String order,
-            Principal principal) {
-        String username = principal.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
+    @GetMapping(value = "/books/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        return bookChangeFeed.subscribe(userDetails.getId(), lastEventId);
+    }
 
-        Sort sort = order.equalsIgnoreCase("desc") ? Sort.by("readingStartDate").descending() : Sort.by("readingStartDate").ascending();
+    @GetMapping("/books/history")
+    public ResponseEntity<CursorPageResponse<ReadingHistoryResponse>> getReadingHistory(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        Long beforeId = null;
+        if (cursor != null) {
+            try {
+                beforeId = Long.valueOf(cursor);
+            } catch (NumberFormatException e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
 
-        List<Book> books = bookRepository.findByUser(user, sort);
+        int pageSize = pageSize(size);
+        List<ReadingHistoryResponse> entries = bookService.findHistory(userDetails.getId(), beforeId, pageSize + 1);
 
-        if (books.isEmpty()) {
+        if (entries.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
 
-        return new ResponseEntity<>(books, HttpStatus.OK);
+        String nextCursor = null;
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            nextCursor = entries.get(pageSize - 1).getId().toString();
+        }
+
+        return new ResponseEntity<>(new CursorPageResponse<>(entries, nextCursor), HttpStatus.OK);
+    }
+
+    @GetMapping("/books/sort/startDate")
+    public ResponseEntity<CursorPageResponse<BookResponse>> getBooksSortedByStartDate(
+            @RequestParam(value = "order", defaultValue = "asc") String order,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            WebRequest webRequest) {
+        Sort.Direction direction = order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        return findPage(userDetails.getId(), null, "readingStartDate", direction, cursor, size, webRequest);
     }
 
     @GetMapping("/books/sort/endDate")
-    public ResponseEntity<List<Book>> getBooksSortedByEndDate(
+    public ResponseEntity<CursorPageResponse<BookResponse>> getBooksSortedByEndDate(
             @RequestParam(value = "order", defaultValue = "asc") String order,
-            Principal principal) {
-        String username = principal.getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException(USER_NOT_FOUND));
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @AuthenticationPrincipal UserDetailsImpl userDetails,
+            WebRequest webRequest) {
+        Sort.Direction direction = order.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
 
-        Sort sort = order.equalsIgnoreCase("desc") ? Sort.by("readingEndDate").descending() : Sort.by("readingEndDate").ascending();
+        return findPage(userDetails.getId(), null, "readingEndDate", direction, cursor, size, webRequest);
+    }
+
+    private ResponseEntity<CursorPageResponse<BookResponse>> findPage(
+            Long userId, Specification<Book> filter, String sortField, Sort.Direction direction,
+            String cursor, Integer size, WebRequest webRequest) {
+        Specification<Book> spec = BookSpecifications.ownedBy(userId).and(filter);
+        if (cursor != null) {
+            try {
+                BookCursor after = BookCursor.decode(cursor);
+                if (!sortField.equals(after.getSortField())) {
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+                spec = spec.and(BookSpecifications.after(after, direction));
+            } catch (IllegalArgumentException e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
 
-        List<Book> books = bookRepository.findByUser(user, sort);
+        if (webRequest.checkNotModified(libraryVersionTracker.collectionETag(userId))) {
+            return null;
+        }
+
+        int pageSize = pageSize(size);
+        Sort sort = "id".equals(sortField)
+                ? Sort.by(direction, "id")
+                : Sort.by(direction, sortField, "id");
+
+        List<BookResponse> books = bookService.findResponses(spec, sort, pageSize + 1);
 
         if (books.isEmpty()) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
 
-        return new ResponseEntity<>(books, HttpStatus.OK);
+        String nextCursor = null;
+        if (books.size() > pageSize) {
+            books = books.subList(0, pageSize);
+            nextCursor = BookCursor.of(books.get(pageSize - 1), sortField).encode();
+        }
+
+        return new ResponseEntity<>(new CursorPageResponse<>(books, nextCursor), HttpStatus.OK);
+    }
+
+    private int pageSize(Integer size) {
+        return size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<HttpStatus> handleOptimisticLockingFailure() {
+        return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
     }
 }
@@ -0,0 +1,198 @@
+package com.book_management.books.history;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.book_management.books.models.ReadingEventType;
+import com.book_management.books.models.ReadingHistoryEntry;
+import com.book_management.books.payload.response.BookResponse;
+import com.book_management.books.repository.ReadingHistoryRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Write-behind recorder for the reading history. Request threads only enqueue entries; a single
+ * background writer drains the queue and appends them in JDBC batches. When the queue is full a
+ * request waits at most the configured offer timeout and then drops the entry, so history can
+ * never slow the write paths down by more than that. Entries still queued at shutdown are flushed
+ * before the connection pool closes.
+ */
+@Component
+public class ReadingHistoryRecorder implements SmartLifecycle, MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadingHistoryRecorder.class);
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 30_000;
+
+    private final ReadingHistoryRepository readingHistoryRepository;
+    private final BlockingQueue<ReadingHistoryEntry> queue;
+    private final int batchSize;
+    private final long offerTimeoutMs;
+    private final long flushIntervalMs;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ReadingHistoryRecorder(
+            ReadingHistoryRepository readingHistoryRepository,
+            @Value("${book_management.app.historyQueueCapacity}") int queueCapacity,
+            @Value("${book_management.app.historyBatchSize}") int batchSize,
+            @Value("${book_management.app.historyOfferTimeoutMs}") long offerTimeoutMs,
+            @Value("${book_management.app.historyFlushIntervalMs}") long flushIntervalMs) {
+        this.readingHistoryRepository = readingHistoryRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.flushIntervalMs = flushIntervalMs;
+    }
+
+    public void onCreated(Long userId, BookResponse book) {
+        record(userId, book, ReadingEventType.ADDED);
+        if (book.getReadingStartDate() != null) {
+            record(userId, book, ReadingEventType.STARTED);
+        }
+        if (book.getReadingEndDate() != null) {
+            record(userId, book, ReadingEventType.FINISHED);
+        }
+    }
+
+    public void onUpdated(Long userId, BookResponse before, BookResponse after) {
+        if (after.getReadingStartDate() != null
+                && !Objects.equals(before.getReadingStartDate(), after.getReadingStartDate())) {
+            record(userId, after, ReadingEventType.STARTED);
+        }
+        if (after.getReadingEndDate() != null
+                && !Objects.equals(before.getReadingEndDate(), after.getReadingEndDate())) {
+            record(userId, after, ReadingEventType.FINISHED);
+        }
+    }
+
+    public void onDeleted(Long userId, Long bookId) {
+        record(new ReadingHistoryEntry(userId, bookId, ReadingEventType.DELETED, null, null, Instant.now()));
+    }
+
+    /**
+     * Records an event known only by book id, such as one produced by a bulk update.
+     */
+    public void onEvent(Long userId, Long bookId, ReadingEventType eventType) {
+        record(new ReadingHistoryEntry(userId, bookId, eventType, null, null, Instant.now()));
+    }
+
+    private void record(Long userId, BookResponse book, ReadingEventType eventType) {
+        record(new ReadingHistoryEntry(userId, book.getId(), eventType, book.getTitle(), book.getAuthor(), Instant.now()));
+    }
+
+    private void record(ReadingHistoryEntry entry) {
+        boolean accepted;
+        try {
+            accepted = offerTimeoutMs > 0
+                    ? queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)
+                    : queue.offer(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new CustomizableThreadFactory("reading-history-").newThread(this::drainLoop);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current == null) {
+            return;
+        }
+        // The writer notices within one flush interval; it is not interrupted mid-batch.
+        try {
+            current.join(flushIntervalMs + SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server, so events from in-flight requests are still written.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reading.history.queue", queue, BlockingQueue::size)
+                .description("Reading history entries waiting to be written")
+                .register(registry);
+        FunctionCounter.builder("reading.history.written", written, LongAdder::sum)
+                .description("Reading history entries written")
+                .register(registry);
+        FunctionCounter.builder("reading.history.dropped", dropped, LongAdder::sum)
+                .description("Reading history entries dropped because the queue was full")
+                .register(registry);
+    }
+
+    private void drainLoop() {
+        List<ReadingHistoryEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                ReadingHistoryEntry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+    }
+
+    private void write(List<ReadingHistoryEntry> batch) {
+        try {
+            readingHistoryRepository.batchInsert(batch);
+            written.add(batch.size());
+        } catch (RuntimeException e) {
+            dropped.add(batch.size());
+            logger.warn("Could not write {} reading history entries: {}", batch.size(), e.getMessage());
+        } finally {
+            batch.clear();
+        }
+    }
+}
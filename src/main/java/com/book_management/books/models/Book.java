@@ -7,6 +7,12 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
 @Entity
+@Table(name = "book",
+        indexes = {
+                @Index(name = "idx_book_user_reading_end_date", columnList = "user_id, reading_end_date"),
+                @Index(name = "idx_book_user_reading_start_date", columnList = "user_id, reading_start_date"),
+                @Index(name = "idx_book_user_title", columnList = "user_id, title")
+        })
 public class Book {
 
     @Id
@@ -25,6 +31,9 @@ public class Book {
 
     private LocalDate readingEndDate = null;
 
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -77,6 +86,14 @@ public class Book {
         this.readingEndDate = readingEndDate;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public User getUser() {
         return user;
     }
@@ -0,0 +1,8 @@
+package com.book_management.books.models;
+
+public enum ReadingEventType {
+    ADDED,
+    STARTED,
+    FINISHED,
+    DELETED
+}
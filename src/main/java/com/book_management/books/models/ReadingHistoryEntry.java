@@ -0,0 +1,82 @@
+package com.book_management.books.models;
+
+import jakarta.persistence.*;
+
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+
+/**
+ * One row of a user's append-only reading history. Rows outlive the book they describe, so the
+ * book is referenced by id only and its title and author are copied at the time of the event.
+ */
+@Entity
+@Immutable
+@Table(name = "reading_history",
+        indexes = @Index(name = "idx_reading_history_user_id", columnList = "user_id, id"))
+public class ReadingHistoryEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", length = 20, nullable = false)
+    private ReadingEventType eventType;
+
+    @Column(length = 30)
+    private String title;
+
+    @Column(length = 30)
+    private String author;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    public ReadingHistoryEntry() {
+    }
+
+    public ReadingHistoryEntry(Long userId, Long bookId, ReadingEventType eventType, String title, String author,
+            Instant occurredAt) {
+        this.userId = userId;
+        this.bookId = bookId;
+        this.eventType = eventType;
+        this.title = title;
+        this.author = author;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public ReadingEventType getEventType() {
+        return eventType;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
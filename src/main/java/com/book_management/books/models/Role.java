@@ -2,7 +2,15 @@ package com.book_management.books.models;
 
 import jakarta.persistence.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.book_management.books.security.services.UserCacheInvalidationListener;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+@EntityListeners(UserCacheInvalidationListener.class)
 @Table(name = "roles")
 public class Role {
 
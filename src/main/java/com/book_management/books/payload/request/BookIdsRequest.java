@@ -0,0 +1,20 @@
+package com.book_management.books.payload.request;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+public class BookIdsRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<Long> ids;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
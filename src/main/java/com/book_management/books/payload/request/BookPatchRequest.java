@@ -0,0 +1,69 @@
+package com.book_management.books.payload.request;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * JSON Merge Patch (RFC 7396) for a book: only the members present in the document are
+ * changed, and {@code null} clears a date.
+ */
+public class BookPatchRequest {
+    private final Map<String, Object> changes;
+
+    private BookPatchRequest(Map<String, Object> changes) {
+        this.changes = Collections.unmodifiableMap(changes);
+    }
+
+    public static BookPatchRequest from(JsonNode document) {
+        if (document == null || !document.isObject()) {
+            throw new IllegalArgumentException("Patch must be a JSON object");
+        }
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = document.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            String name = field.getKey();
+            JsonNode value = field.getValue();
+            switch (name) {
+                case "title", "author" -> {
+                    if (!value.isTextual()) {
+                        throw new IllegalArgumentException(name + " must be a string");
+                    }
+                    changes.put(name, value.asText());
+                }
+                case "readingStartDate", "readingEndDate" -> changes.put(name, parseDate(name, value));
+                default -> throw new IllegalArgumentException("Unknown field: " + name);
+            }
+        }
+        return new BookPatchRequest(changes);
+    }
+
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    private static LocalDate parseDate(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new IllegalArgumentException(name + " must be an ISO date");
+        }
+        try {
+            return LocalDate.parse(value.asText());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be an ISO date", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.book_management.books.payload.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class MarkReadRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<Long> ids;
+
+    @NotNull
+    private LocalDate readingEndDate;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public LocalDate getReadingEndDate() {
+        return readingEndDate;
+    }
+
+    public void setReadingEndDate(LocalDate readingEndDate) {
+        this.readingEndDate = readingEndDate;
+    }
+}
@@ -0,0 +1,49 @@
+package com.book_management.books.payload.response;
+
+import com.book_management.books.changes.BookChangeType;
+
+public class BookChangeEvent {
+    private String id;
+    private BookChangeType type;
+    private Long bookId;
+    private BookResponse book;
+
+    public BookChangeEvent(String id, BookChangeType type, Long bookId, BookResponse book) {
+        this.id = id;
+        this.type = type;
+        this.bookId = bookId;
+        this.book = book;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public BookChangeType getType() {
+        return type;
+    }
+
+    public void setType(BookChangeType type) {
+        this.type = type;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public BookResponse getBook() {
+        return book;
+    }
+
+    public void setBook(BookResponse book) {
+        this.book = book;
+    }
+}
@@ -0,0 +1,29 @@
+package com.book_management.books.payload.response;
+
+import java.util.List;
+
+public class BookChangesResponse {
+    private String version;
+    private List<BookChangeEvent> changes;
+
+    public BookChangesResponse(String version, List<BookChangeEvent> changes) {
+        this.version = version;
+        this.changes = changes;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public List<BookChangeEvent> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<BookChangeEvent> changes) {
+        this.changes = changes;
+    }
+}
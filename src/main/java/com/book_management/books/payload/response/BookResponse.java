@@ -0,0 +1,82 @@
+package com.book_management.books.payload.response;
+
+import java.time.LocalDate;
+
+import com.book_management.books.models.Book;
+
+public class BookResponse {
+    private Long id;
+    private String title;
+    private String author;
+    private LocalDate readingStartDate;
+    private LocalDate readingEndDate;
+    private Long version;
+
+    public BookResponse(Long id, String title, String author, LocalDate readingStartDate, LocalDate readingEndDate,
+                        Long version) {
+        this.id = id;
+        this.title = title;
+        this.author = author;
+        this.readingStartDate = readingStartDate;
+        this.readingEndDate = readingEndDate;
+        this.version = version;
+    }
+
+    public static BookResponse from(Book book) {
+        return new BookResponse(
+                book.getId(),
+                book.getTitle(),
+                book.getAuthor(),
+                book.getReadingStartDate(),
+                book.getReadingEndDate(),
+                book.getVersion());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public LocalDate getReadingStartDate() {
+        return readingStartDate;
+    }
+
+    public void setReadingStartDate(LocalDate readingStartDate) {
+        this.readingStartDate = readingStartDate;
+    }
+
+    public LocalDate getReadingEndDate() {
+        return readingEndDate;
+    }
+
+    public void setReadingEndDate(LocalDate readingEndDate) {
+        this.readingEndDate = readingEndDate;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,17 @@
+package com.book_management.books.payload.response;
+
+public class BulkOperationResponse {
+    private int affected;
+
+    public BulkOperationResponse(int affected) {
+        this.affected = affected;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+}
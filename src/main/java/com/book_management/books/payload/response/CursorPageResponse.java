@@ -0,0 +1,29 @@
+package com.book_management.books.payload.response;
+
+import java.util.List;
+
+public class CursorPageResponse<T> {
+    private List<T> content;
+    private String nextCursor;
+
+    public CursorPageResponse(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
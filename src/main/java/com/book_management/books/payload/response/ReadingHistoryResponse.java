@@ -0,0 +1,78 @@
+package com.book_management.books.payload.response;
+
+import java.time.Instant;
+
+import com.book_management.books.models.ReadingEventType;
+import com.book_management.books.models.ReadingHistoryEntry;
+
+public class ReadingHistoryResponse {
+    private Long id;
+    private Long bookId;
+    private ReadingEventType eventType;
+    private String title;
+    private String author;
+    private Instant occurredAt;
+
+    public ReadingHistoryResponse(Long id, Long bookId, ReadingEventType eventType, String title, String author,
+            Instant occurredAt) {
+        this.id = id;
+        this.bookId = bookId;
+        this.eventType = eventType;
+        this.title = title;
+        this.author = author;
+        this.occurredAt = occurredAt;
+    }
+
+    public static ReadingHistoryResponse from(ReadingHistoryEntry entry) {
+        return new ReadingHistoryResponse(entry.getId(), entry.getBookId(), entry.getEventType(),
+                entry.getTitle(), entry.getAuthor(), entry.getOccurredAt());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public ReadingEventType getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(ReadingEventType eventType) {
+        this.eventType = eventType;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(Instant occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
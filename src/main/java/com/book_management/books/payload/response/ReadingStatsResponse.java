@@ -0,0 +1,72 @@
+package com.book_management.books.payload.response;
+
+import java.util.List;
+import java.util.Map;
+
+public class ReadingStatsResponse {
+    private long total;
+    private long read;
+    private long unread;
+    private Double averageReadingDays;
+    private Map<String, Long> finishedPerMonth;
+    private Map<String, Long> finishedPerYear;
+    private List<AuthorCount> topAuthors;
+
+    public ReadingStatsResponse(long total, long read, Double averageReadingDays,
+                                Map<String, Long> finishedPerMonth, Map<String, Long> finishedPerYear,
+                                List<AuthorCount> topAuthors) {
+        this.total = total;
+        this.read = read;
+        this.unread = total - read;
+        this.averageReadingDays = averageReadingDays;
+        this.finishedPerMonth = finishedPerMonth;
+        this.finishedPerYear = finishedPerYear;
+        this.topAuthors = topAuthors;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getRead() {
+        return read;
+    }
+
+    public long getUnread() {
+        return unread;
+    }
+
+    public Double getAverageReadingDays() {
+        return averageReadingDays;
+    }
+
+    public Map<String, Long> getFinishedPerMonth() {
+        return finishedPerMonth;
+    }
+
+    public Map<String, Long> getFinishedPerYear() {
+        return finishedPerYear;
+    }
+
+    public List<AuthorCount> getTopAuthors() {
+        return topAuthors;
+    }
+
+    public static class AuthorCount {
+        private String author;
+        private long count;
+
+        public AuthorCount(String author, long count) {
+            this.author = author;
+            this.count = count;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.book_management.books.repository;
+
+import java.util.List;
+
+import com.book_management.books.models.Book;
+
+public interface BookBatchRepository {
+
+    /**
+     * Inserts the books for the given user as a single JDBC batch and reports for each book whether
+     * its row was written. Rows the driver reports as failed, or never ran after an earlier row
+     * failed, are {@code false}; a failing row does not make the call throw.
+     */
+    boolean[] batchInsert(Long userId, List<Book> books);
+
+    /**
+     * Inserts a single book for the given user.
+     */
+    void insert(Long userId, Book book);
+}
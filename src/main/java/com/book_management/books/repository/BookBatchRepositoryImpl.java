@@ -0,0 +1,108 @@
+package com.book_management.books.repository;
+
+import java.sql.BatchUpdateException;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.book_management.books.models.Book;
+
+import jakarta.persistence.EntityManagerFactory;
+
+public class BookBatchRepositoryImpl implements BookBatchRepository {
+
+    private static final String INSERT_BOOK =
+            "INSERT INTO book (title, author, reading_start_date, reading_end_date, user_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public BookBatchRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public boolean[] batchInsert(Long userId, List<Book> books) {
+        boolean[] inserted = new boolean[books.size()];
+        if (books.isEmpty()) {
+            return inserted;
+        }
+
+        try {
+            int[][] counts = jdbcTemplate.batchUpdate(INSERT_BOOK, books, books.size(),
+                    (ps, book) -> setBook(ps, userId, book));
+            int row = 0;
+            for (int[] batch : counts) {
+                for (int count : batch) {
+                    inserted[row++] = isWritten(count);
+                }
+            }
+        } catch (DataAccessException e) {
+            BatchUpdateException failure = batchUpdateException(e);
+            if (failure == null) {
+                throw e;
+            }
+            // Rows past the last reported count did not run.
+            int[] counts = failure.getUpdateCounts();
+            for (int row = 0; row < counts.length && row < inserted.length; row++) {
+                inserted[row] = isWritten(counts[row]);
+            }
+        } finally {
+            evictQueryCache();
+        }
+        return inserted;
+    }
+
+    @Override
+    public void insert(Long userId, Book book) {
+        try {
+            jdbcTemplate.update(INSERT_BOOK, ps -> setBook(ps, userId, book));
+        } finally {
+            evictQueryCache();
+        }
+    }
+
+    // Hibernate does not see these inserts, so cached book queries would otherwise go stale.
+    private void evictQueryCache() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(BookRepository.QUERY_CACHE_REGION);
+    }
+
+    // With rewriteBatchedStatements the driver reports SUCCESS_NO_INFO per row; EXECUTE_FAILED rows were not written.
+    private static boolean isWritten(int count) {
+        return count == Statement.SUCCESS_NO_INFO || count > 0;
+    }
+
+    private static BatchUpdateException batchUpdateException(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BatchUpdateException batchUpdateException) {
+                return batchUpdateException;
+            }
+        }
+        return null;
+    }
+
+    private static void setBook(PreparedStatement ps, Long userId, Book book) throws SQLException {
+        ps.setString(1, book.getTitle());
+        ps.setString(2, book.getAuthor());
+        setDate(ps, 3, book.getReadingStartDate());
+        setDate(ps, 4, book.getReadingEndDate());
+        ps.setLong(5, userId);
+    }
+
+    private static void setDate(PreparedStatement ps, int index, LocalDate date) throws SQLException {
+        if (date == null) {
+            ps.setNull(index, Types.DATE);
+        } else {
+            ps.setDate(index, Date.valueOf(date));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.book_management.books.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.book_management.books.payload.response.BookResponse;
+
+/**
+ * Opaque continuation token for keyset pagination: the sort field, the sort key of the
+ * last returned book and its id as a tie-breaker.
+ */
+public class BookCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final String sortField;
+    private final String sortValue;
+    private final Long id;
+
+    public BookCursor(String sortField, String sortValue, Long id) {
+        this.sortField = sortField;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+
+    public String getSortField() {
+        return sortField;
+    }
+
+    public String getSortValue() {
+        return sortValue;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public static BookCursor of(BookResponse book, String sortField) {
+        Object value = switch (sortField) {
+            case "id" -> null;
+            case "readingStartDate" -> book.getReadingStartDate();
+            case "readingEndDate" -> book.getReadingEndDate();
+            case "title" -> book.getTitle();
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        };
+        return new BookCursor(sortField, value == null ? null : value.toString(), book.getId());
+    }
+
+    public String encode() {
+        String raw = sortField + SEPARATOR + (sortValue == null ? "" : sortValue) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+
+        int first = raw.indexOf(SEPARATOR);
+        int last = raw.lastIndexOf(SEPARATOR);
+        if (first < 0 || first == last) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        String value = raw.substring(first + 1, last);
+        try {
+            return new BookCursor(
+                    raw.substring(0, first),
+                    value.isEmpty() ? null : value,
+                    Long.parseLong(raw.substring(last + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
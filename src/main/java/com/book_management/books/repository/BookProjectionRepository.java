@@ -0,0 +1,18 @@
+package com.book_management.books.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.book_management.books.models.Book;
+import com.book_management.books.payload.response.BookResponse;
+
+public interface BookProjectionRepository {
+
+    /**
+     * Selects only the columns of {@link BookResponse} for books matching {@code spec},
+     * without loading {@link Book} entities into the persistence context.
+     */
+    List<BookResponse> findResponses(Specification<Book> spec, Sort sort, int limit);
+}
@@ -0,0 +1,49 @@
+package com.book_management.books.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.book_management.books.models.Book;
+import com.book_management.books.payload.response.BookResponse;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+public class BookProjectionRepositoryImpl implements BookProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    public BookProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<BookResponse> findResponses(Specification<Book> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookResponse> query = cb.createQuery(BookResponse.class);
+        Root<Book> root = query.from(Book.class);
+
+        query.select(cb.construct(BookResponse.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("author"),
+                root.get("readingStartDate"),
+                root.get("readingEndDate"),
+                root.get("version")));
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, BookRepository.QUERY_CACHE_REGION)
+                .getResultList();
+    }
+}
@@ -1,28 +1,98 @@
 package com.book_management.books.repository;
 
 import com.book_management.books.models.Book;
-import com.book_management.books.models.User;
-import org.springframework.data.domain.Sort;
+import com.book_management.books.payload.response.BookResponse;
+import com.book_management.books.search.BookSearchFields;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
-    List<Book> findByUser(User user);
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book>,
+        BookBatchRepository, BookProjectionRepository, BookUpdateRepository {
+
+    /**
+     * Query cache region for the per-user projection finders. Hibernate invalidates it on any
+     * write to {@code book} it performs itself; JDBC writes must evict it explicitly.
+     */
+    String QUERY_CACHE_REGION = "book-queries";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query("SELECT b.version FROM Book b WHERE b.id = :id AND b.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query("SELECT new com.book_management.books.payload.response.BookResponse("
+            + "b.id, b.title, b.author, b.readingStartDate, b.readingEndDate, b.version) "
+            + "FROM Book b WHERE b.id = :id AND b.user.id = :userId")
+    Optional<BookResponse> findResponseByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    Optional<Book> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Locks and returns the given books the user owns, ahead of a bulk statement on them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Book b WHERE b.user.id = :userId AND b.id IN :ids")
+    List<Long> findIdsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks and returns the user's read books; the range lock also keeps other books from
+     * becoming read before {@link #deleteReadByUserId} runs in the same transaction.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id FROM Book b WHERE b.user.id = :userId AND b.readingEndDate IS NOT NULL")
+    List<Long> findReadIdsByUserId(@Param("userId") Long userId);
 
-    List<Book> findByUser(User user, Sort sort);
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.user.id = :userId AND b.id IN :ids")
+    int deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
 
-    List<Book> findByUserAndReadingEndDateIsNull(User user);
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Book b WHERE b.user.id = :userId AND b.readingEndDate IS NOT NULL")
+    int deleteReadByUserId(@Param("userId") Long userId);
 
-    List<Book> findByUserAndReadingEndDateIsNotNull(User user);
+    @Transactional
+    @Modifying
+    @Query("UPDATE Book b SET b.readingEndDate = :readingEndDate, b.version = b.version + 1 "
+            + "WHERE b.user.id = :userId AND b.id IN :ids")
+    int updateReadingEndDate(
+            @Param("userId") Long userId,
+            @Param("ids") Collection<Long> ids,
+            @Param("readingEndDate") LocalDate readingEndDate);
 
-    List<Book> findByUserAndReadingEndDate(User user, LocalDate readingEndDate);
+    @Query("SELECT new com.book_management.books.search.BookSearchFields(b.id, b.title, b.author) "
+            + "FROM Book b WHERE b.user.id = :userId")
+    List<BookSearchFields> findSearchFieldsByUserId(@Param("userId") Long userId);
 
-    @Query("SELECT b FROM Book b WHERE b.user = :user AND LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    List<Book> findByUserAndTitleContainingIgnoreCase(@Param("user") User user, @Param("title") String title);
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result set.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.book_management.books.payload.response.BookResponse("
+            + "b.id, b.title, b.author, b.readingStartDate, b.readingEndDate, b.version) "
+            + "FROM Book b WHERE b.user.id = :userId ORDER BY b.id")
+    Stream<BookResponse> streamByUserId(@Param("userId") Long userId);
 }
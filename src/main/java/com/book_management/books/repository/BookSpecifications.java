@@ -0,0 +1,117 @@
+package com.book_management.books.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.book_management.books.models.Book;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    public static Specification<Book> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Book> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Book> isRead() {
+        return (root, query, cb) -> cb.isNotNull(root.get("readingEndDate"));
+    }
+
+    public static Specification<Book> isNotRead() {
+        return (root, query, cb) -> cb.isNull(root.get("readingEndDate"));
+    }
+
+    public static Specification<Book> readingEndDateEquals(LocalDate readingEndDate) {
+        return (root, query, cb) -> cb.equal(root.get("readingEndDate"), readingEndDate);
+    }
+
+    public static Specification<Book> titleContainsIgnoreCase(String title) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), "%" + title.toLowerCase() + "%");
+    }
+
+    public static Specification<Book> titleOrAuthorContainsIgnoreCase(String text) {
+        String pattern = "%" + text.toLowerCase() + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern),
+                cb.like(cb.lower(root.get("author")), pattern));
+    }
+
+    /**
+     * Matches books whose {@code attribute} date lies in {@code [from, to]}; either bound may be
+     * {@code null}, and a {@code null} result means no restriction.
+     */
+    public static Specification<Book> dateBetween(String attribute, LocalDate from, LocalDate to) {
+        if (from == null && to == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Path<LocalDate> date = root.get(attribute);
+            if (from == null) {
+                return cb.lessThanOrEqualTo(date, to);
+            }
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(date, from);
+            }
+            return cb.between(date, from, to);
+        };
+    }
+
+    /**
+     * Restricts the result to the rows that come after {@code cursor} in the order
+     * {@code (sortField direction, id direction)}. Nulls are treated as the lowest value,
+     * which is how MySQL orders them by default.
+     */
+    public static Specification<Book> after(BookCursor cursor, Sort.Direction direction) {
+        Comparable<Object> value = "id".equals(cursor.getSortField()) || cursor.getSortValue() == null
+                ? null
+                : parseSortValue(cursor.getSortField(), cursor.getSortValue());
+
+        return (root, query, cb) -> {
+            Path<Long> id = root.get("id");
+            boolean asc = direction.isAscending();
+            Predicate idAfter = asc ? cb.greaterThan(id, cursor.getId()) : cb.lessThan(id, cursor.getId());
+
+            if ("id".equals(cursor.getSortField())) {
+                return idAfter;
+            }
+
+            Path<Comparable<Object>> key = root.get(cursor.getSortField());
+            if (value == null) {
+                Predicate sameKey = cb.and(cb.isNull(key), idAfter);
+                return asc ? cb.or(sameKey, cb.isNotNull(key)) : sameKey;
+            }
+
+            Predicate keyAfter = asc ? cb.greaterThan(key, value) : cb.lessThan(key, value);
+            Predicate sameKey = cb.and(cb.equal(key, value), idAfter);
+            return asc ? cb.or(keyAfter, sameKey) : cb.or(keyAfter, sameKey, cb.isNull(key));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> parseSortValue(String sortField, String raw) {
+        return switch (sortField) {
+            case "readingStartDate", "readingEndDate" -> (Comparable<Object>) (Comparable<?>) parseDate(raw);
+            case "title" -> (Comparable<Object>) (Comparable<?>) raw;
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortField);
+        };
+    }
+
+    private static LocalDate parseDate(String raw) {
+        try {
+            return LocalDate.parse(raw);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
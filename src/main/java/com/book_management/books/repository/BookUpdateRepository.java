@@ -0,0 +1,15 @@
+package com.book_management.books.repository;
+
+import java.util.Map;
+
+public interface BookUpdateRepository {
+
+    /**
+     * Applies {@code changes} (attribute name to new value) to one of the user's books with a
+     * single UPDATE that also increments the version. When {@code expectedVersion} is not
+     * {@code null} the row is only updated if its version still matches.
+     *
+     * @return the number of updated rows, 0 or 1
+     */
+    int patch(Long id, Long userId, Long expectedVersion, Map<String, Object> changes);
+}
@@ -0,0 +1,47 @@
+package com.book_management.books.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.book_management.books.models.Book;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+public class BookUpdateRepositoryImpl implements BookUpdateRepository {
+
+    private final EntityManager entityManager;
+
+    public BookUpdateRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional
+    public int patch(Long id, Long userId, Long expectedVersion, Map<String, Object> changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Book> update = cb.createCriteriaUpdate(Book.class);
+        Root<Book> root = update.from(Book.class);
+
+        changes.forEach((attribute, value) -> update.set(attribute, value));
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("id"), id));
+        predicates.add(cb.equal(root.get("user").get("id"), userId));
+        if (expectedVersion != null) {
+            predicates.add(cb.equal(version, expectedVersion));
+        }
+        update.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,13 @@
+package com.book_management.books.repository;
+
+import java.util.List;
+
+import com.book_management.books.models.ReadingHistoryEntry;
+
+public interface ReadingHistoryBatchRepository {
+
+    /**
+     * Appends the entries as a single JDBC batch.
+     */
+    void batchInsert(List<ReadingHistoryEntry> entries);
+}
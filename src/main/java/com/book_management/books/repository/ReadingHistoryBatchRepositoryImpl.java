@@ -0,0 +1,36 @@
+package com.book_management.books.repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.book_management.books.models.ReadingHistoryEntry;
+
+public class ReadingHistoryBatchRepositoryImpl implements ReadingHistoryBatchRepository {
+
+    private static final String INSERT_ENTRY =
+            "INSERT INTO reading_history (user_id, book_id, event_type, title, author, occurred_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReadingHistoryBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<ReadingHistoryEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_ENTRY, entries, entries.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getUserId());
+            ps.setLong(2, entry.getBookId());
+            ps.setString(3, entry.getEventType().name());
+            ps.setString(4, entry.getTitle());
+            ps.setString(5, entry.getAuthor());
+            ps.setTimestamp(6, Timestamp.from(entry.getOccurredAt()));
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package com.book_management.books.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.book_management.books.models.ReadingHistoryEntry;
+
+@Repository
+public interface ReadingHistoryRepository extends JpaRepository<ReadingHistoryEntry, Long>, ReadingHistoryBatchRepository {
+
+    List<ReadingHistoryEntry> findByUserIdOrderByIdDesc(Long userId, Limit limit);
+
+    List<ReadingHistoryEntry> findByUserIdAndIdLessThanOrderByIdDesc(Long userId, Long beforeId, Limit limit);
+}
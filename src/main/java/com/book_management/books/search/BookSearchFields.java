@@ -0,0 +1,7 @@
+package com.book_management.books.search;
+
+/**
+ * The columns of a book that {@link BookSearchIndex} indexes.
+ */
+public record BookSearchFields(Long id, String title, String author) {
+}
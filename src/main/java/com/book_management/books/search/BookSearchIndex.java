@@ -0,0 +1,253 @@
+package com.book_management.books.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.book_management.books.models.Book;
+import com.book_management.books.repository.BookRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-memory trigram index over book titles and authors, one per user. A user's index is
+ * built from the database on the first search and then kept up to date by the write paths
+ * in {@code BookService}.
+ */
+@Component
+public class BookSearchIndex implements MeterBinder {
+
+    private static final int GRAM = 3;
+
+    private final BookRepository bookRepository;
+    private final Cache<Long, UserIndex> indexes;
+
+    public BookSearchIndex(
+            BookRepository bookRepository,
+            @Value("${book_management.app.searchIndexMaxUsers}") long maxUsers) {
+        this.bookRepository = bookRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the ids of the user's books matching every term of {@code query}, best matches first.
+     */
+    public List<Long> search(Long userId, String query, int limit) {
+        List<String> terms = new ArrayList<>();
+        for (String term : normalize(query).split("\\s+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+
+        return indexes.get(userId, this::build).search(terms, limit);
+    }
+
+    public void onSaved(Long userId, Book book) {
+        indexes.asMap().computeIfPresent(userId, (id, index) -> {
+            index.put(book.getId(), book.getTitle(), book.getAuthor());
+            return index;
+        });
+    }
+
+    /**
+     * Applies a partial change; a {@code null} title or author keeps the indexed value.
+     */
+    public void onPatched(Long userId, Long bookId, String title, String author) {
+        indexes.asMap().computeIfPresent(userId, (id, index) -> {
+            index.patch(bookId, title, author);
+            return index;
+        });
+    }
+
+    public void onDeleted(Long userId, Long bookId) {
+        indexes.asMap().computeIfPresent(userId, (id, index) -> {
+            index.remove(bookId);
+            return index;
+        });
+    }
+
+    public void invalidate(Long userId) {
+        indexes.invalidate(userId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, indexes, "search_indexes");
+    }
+
+    private UserIndex build(Long userId) {
+        UserIndex index = new UserIndex();
+        for (BookSearchFields book : bookRepository.findSearchFieldsByUserId(userId)) {
+            index.put(book.id(), book.title(), book.author());
+        }
+        return index;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Scores a single term against a field: whole word 3, word prefix 2, any other substring 1.
+     */
+    private static int fieldScore(String field, String term) {
+        int pos = field.indexOf(term);
+        if (pos < 0) {
+            return 0;
+        }
+        int end = pos + term.length();
+        boolean wordStart = pos == 0 || !Character.isLetterOrDigit(field.charAt(pos - 1));
+        boolean wordEnd = end == field.length() || !Character.isLetterOrDigit(field.charAt(end));
+        if (wordStart && wordEnd) {
+            return 3;
+        }
+        return wordStart ? 2 : 1;
+    }
+
+    private record Entry(String title, String author, Set<String> grams) {
+    }
+
+    private record Hit(Long id, int score) {
+    }
+
+    private static final class UserIndex {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        void put(Long bookId, String title, String author) {
+            String normalizedTitle = normalize(title);
+            String normalizedAuthor = normalize(author);
+            Set<String> grams = grams(normalizedTitle);
+            grams.addAll(grams(normalizedAuthor));
+
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(bookId);
+                entries.put(bookId, new Entry(normalizedTitle, normalizedAuthor, grams));
+                for (String gram : grams) {
+                    postings.computeIfAbsent(gram, g -> new HashSet<>()).add(bookId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void patch(Long bookId, String title, String author) {
+            Entry current;
+            lock.readLock().lock();
+            try {
+                current = entries.get(bookId);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (current != null) {
+                put(bookId, title != null ? title : current.title(), author != null ? author : current.author());
+            }
+        }
+
+        void remove(Long bookId) {
+            lock.writeLock().lock();
+            try {
+                removeUnlocked(bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void removeUnlocked(Long bookId) {
+            Entry previous = entries.remove(bookId);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : previous.grams()) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(bookId);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        List<Long> search(List<String> terms, int limit) {
+            lock.readLock().lock();
+            try {
+                List<Hit> hits = new ArrayList<>();
+                for (Long bookId : candidates(terms)) {
+                    Entry entry = entries.get(bookId);
+                    int score = 0;
+                    for (String term : terms) {
+                        int termScore = fieldScore(entry.title(), term) * 2 + fieldScore(entry.author(), term);
+                        if (termScore == 0) {
+                            score = 0;
+                            break;
+                        }
+                        score += termScore;
+                    }
+                    if (score > 0) {
+                        hits.add(new Hit(bookId, score));
+                    }
+                }
+
+                return hits.stream()
+                        .sorted(Comparator.comparingInt(Hit::score).reversed().thenComparing(Hit::id))
+                        .limit(limit)
+                        .map(Hit::id)
+                        .toList();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Intersects the posting lists of every gram of every term; terms shorter than a gram
+        // cannot be looked up and are left to the substring check in search().
+        private Set<Long> candidates(List<String> terms) {
+            Set<Long> result = null;
+            for (String term : terms) {
+                for (String gram : grams(term)) {
+                    Set<Long> ids = postings.getOrDefault(gram, Set.of());
+                    if (result == null) {
+                        result = new HashSet<>(ids);
+                    } else {
+                        result.retainAll(ids);
+                    }
+                    if (result.isEmpty()) {
+                        return result;
+                    }
+                }
+            }
+            return result == null ? entries.keySet() : result;
+        }
+    }
+}
@@ -1,23 +1,30 @@
 package com.book_management.books.security;
 
+import com.book_management.books.security.crypto.BoundedPasswordEncoder;
 import com.book_management.books.security.jwt.JwtUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.book_management.books.security.jwt.AuthEntryPointJwt;
 import com.book_management.books.security.jwt.AuthTokenFilter;
+import com.book_management.books.security.ratelimit.AdmissionControlFilter;
+import com.book_management.books.security.ratelimit.KeyedRateLimiter;
 import com.book_management.books.security.services.UserDetailsServiceImpl;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
@@ -40,11 +47,37 @@ public class WebSecurityConfig {
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public AdmissionControlFilter admissionControlFilter(
+            @Value("${book_management.app.ipRateLimitPerSecond}") double ipPermitsPerSecond,
+            @Value("${book_management.app.ipRateLimitBurst}") int ipBurst,
+            @Value("${book_management.app.userRateLimitPerSecond}") double userPermitsPerSecond,
+            @Value("${book_management.app.userRateLimitBurst}") int userBurst,
+            @Value("${book_management.app.rateLimitMaxKeys}") long maxKeys,
+            @Value("${book_management.app.rateLimitIdleMs}") long idleMs,
+            @Value("${book_management.app.dbMaxConcurrentRequests}") int maxConcurrentRequests,
+            @Value("${book_management.app.dbAdmissionTimeoutMs}") long admissionTimeoutMs) {
+        Duration idleTimeout = Duration.ofMillis(idleMs);
+        return new AdmissionControlFilter(
+                new KeyedRateLimiter(ipPermitsPerSecond, ipBurst, maxKeys, idleTimeout),
+                new KeyedRateLimiter(userPermitsPerSecond, userBurst, maxKeys, idleTimeout),
+                maxConcurrentRequests,
+                admissionTimeoutMs);
+    }
+
+    // Only run inside the security chain, after the principal has been resolved.
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(AdmissionControlFilter filter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
 
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
 
         return authProvider;
     }
@@ -54,18 +87,32 @@ public class WebSecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * Hashes on a quarter of the cores by default, leaving the rest to request handling; set
+     * {@code book_management.app.passwordHashThreads} to a positive value to size the pool explicitly.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${book_management.app.bcryptStrength}") int strength,
+            @Value("${book_management.app.passwordHashThreads}") int threads,
+            @Value("${book_management.app.passwordHashQueueCapacity}") int queueCapacity,
+            @Value("${book_management.app.passwordHashTimeoutMs}") long timeoutMs) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, timeoutMs);
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(
+            HttpSecurity http,
+            DaoAuthenticationProvider authenticationProvider,
+            AdmissionControlFilter admissionControlFilter) throws Exception {
         http.cors(cors -> cors.configurationSource(request -> {
                     var corsConfig = new org.springframework.web.cors.CorsConfiguration();
                     corsConfig.setAllowedOrigins(List.of("http://localhost:8081"));
-                    corsConfig.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+                    corsConfig.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
                     corsConfig.setAllowedHeaders(List.of("*"));
+                    // Let the client read the version, back-off and created-resource headers it relies on.
+                    corsConfig.setExposedHeaders(List.of(HttpHeaders.ETAG, HttpHeaders.RETRY_AFTER, HttpHeaders.LOCATION));
                     corsConfig.setAllowCredentials(true);
                     return corsConfig;
                 }))
@@ -74,11 +121,14 @@ public class WebSecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth ->
                         auth.requestMatchers("/api/auth/**").permitAll()
+                                // Actuator is only served on the management port, which listens on loopback only.
+                                .requestMatchers(EndpointRequest.toAnyEndpoint()).permitAll()
                                 .anyRequest().authenticated()
                 );
 
-        http.authenticationProvider(authenticationProvider());
+        http.authenticationProvider(authenticationProvider);
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(admissionControlFilter, AuthTokenFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,15 @@
+package com.book_management.books.security.crypto;
+
+/**
+ * Thrown when the password hashing pool is saturated and cannot accept more work.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,75 @@
+package com.book_management.books.security.jwt;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts rejected credentials by reason. Stale and malformed tokens are routine, so instead of
+ * logging each one this logs at most one summary line per interval, without stack traces.
+ */
+final class AuthRejections {
+
+    enum Reason {
+        MALFORMED_HEADER,
+        MALFORMED_TOKEN,
+        INVALID_SIGNATURE,
+        EXPIRED,
+        UNSUPPORTED,
+        EMPTY_CLAIMS,
+        USER_LOOKUP
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthRejections.class);
+
+    private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final Map<Reason, LongAdder> counts = new EnumMap<>(Reason.class);
+
+    static {
+        for (Reason reason : Reason.values()) {
+            counts.put(reason, new LongAdder());
+        }
+    }
+
+    private static final AtomicLong nextLogAt = new AtomicLong(System.nanoTime());
+    private static final LongAdder suppressed = new LongAdder();
+
+    private AuthRejections() {
+    }
+
+    /**
+     * Registers the rejection counts with the registry; called from {@link JwtUtils#bindTo}.
+     */
+    static void bindTo(MeterRegistry registry) {
+        counts.forEach((reason, count) -> FunctionCounter.builder("auth.rejected", count, LongAdder::sum)
+                .description("Requests whose credentials were rejected")
+                .tag("reason", reason.name().toLowerCase(Locale.ROOT))
+                .register(registry));
+    }
+
+    static void record(Reason reason, String detail) {
+        counts.get(reason).increment();
+
+        long now = System.nanoTime();
+        long next = nextLogAt.get();
+        if (now - next < 0 || !nextLogAt.compareAndSet(next, now + LOG_INTERVAL_NANOS)) {
+            suppressed.increment();
+            return;
+        }
+
+        if (logger.isWarnEnabled()) {
+            logger.warn("Rejected credentials ({}): {} [{} similar rejections not logged]",
+                    reason, detail, suppressed.sumThenReset());
+        }
+    }
+}
@@ -7,8 +7,6 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,6 +21,7 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
 
     @Autowired
     public AuthTokenFilter(
@@ -32,7 +31,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         this.userDetailsService = userDetailsService;
     }
 
-    private static final Logger log = LoggerFactory.getLogger(AuthTokenFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final int MAX_TOKEN_LENGTH = 4096;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -46,21 +47,20 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
+            String username = jwt != null ? jwtUtils.validateAndGetUserName(jwt) : null;
+            if (username != null) {
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
                                 null,
                                 userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                authentication.setDetails(detailsSource.buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
-            log.error("Cannot set user authentication: {0}", e);
+            AuthRejections.record(AuthRejections.Reason.USER_LOOKUP, e.toString());
         }
 
         filterChain.doFilter(request, response);
@@ -69,10 +69,44 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
-        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-            return headerAuth.substring(7);
+        if (StringUtils.hasText(headerAuth) && headerAuth.startsWith(BEARER_PREFIX)) {
+            if (!isCompactJws(headerAuth, BEARER_PREFIX.length())) {
+                AuthRejections.record(AuthRejections.Reason.MALFORMED_HEADER, "not a compact JWS");
+                return null;
+            }
+            return headerAuth.substring(BEARER_PREFIX.length());
         }
 
         return null;
     }
+
+    /**
+     * Cheap structural check done before any cache lookup or parsing: three non-empty
+     * base64url segments separated by dots, within a sane length.
+     */
+    private static boolean isCompactJws(String header, int start) {
+        int length = header.length() - start;
+        if (length < 5 || length > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+
+        int dots = 0;
+        char previous = '.';
+        for (int i = start; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (c == '.') {
+                if (previous == '.' || ++dots > 2) {
+                    return false;
+                }
+            } else if (!isBase64Url(c)) {
+                return false;
+            }
+            previous = c;
+        }
+        return dots == 2 && previous != '.';
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
 }
@@ -1,64 +1,167 @@
 package com.book_management.books.security.jwt;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import com.book_management.books.security.services.UserDetailsImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 @Component
-public class JwtUtils {
-    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+public class JwtUtils implements MeterBinder {
+    private final Key key;
 
-    @Value("${book_management.app.jwtSecret}")
-    private String jwtSecret;
+    private final JwtParser parser;
 
-    @Value("${book_management.app.jwtExpirationMs}")
-    private int jwtExpirationMs;
+    private final int jwtExpirationMs;
+
+    // Tokens that already passed signature verification, kept until they expire.
+    private final Cache<String, Claims> verifiedTokens;
+
+    private final ValidationTimes cachedTimes = new ValidationTimes();
+    private final ValidationTimes verifiedTimes = new ValidationTimes();
+    private final ValidationTimes rejectedTimes = new ValidationTimes();
+
+    public JwtUtils(
+            @Value("${book_management.app.jwtSecret}") String jwtSecret,
+            @Value("${book_management.app.jwtExpirationMs}") int jwtExpirationMs,
+            @Value("${book_management.app.jwtCacheMaxSize}") long jwtCacheMaxSize) {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(jwtCacheMaxSize)
+                .expireAfter(new ClaimsExpiry())
+                .recordStats()
+                .build();
+    }
 
     public String generateJwtToken(Authentication authentication) {
 
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
 
+        Date now = new Date();
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + jwtExpirationMs))
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+    /**
+     * Verifies the token and returns its subject, or {@code null} if the token is not valid.
+     */
+    public String validateAndGetUserName(String authToken) {
+        long start = System.nanoTime();
+        Claims claims = verifiedTokens.getIfPresent(authToken);
+        if (claims != null) {
+            cachedTimes.record(System.nanoTime() - start);
+            return claims.getSubject();
+        }
+
+        claims = parseClaims(authToken);
+        if (claims == null) {
+            rejectedTimes.record(System.nanoTime() - start);
+            return null;
+        }
+        verifiedTokens.put(authToken, claims);
+        verifiedTimes.record(System.nanoTime() - start);
+
+        return claims.getSubject();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "verified_tokens");
+        bindValidationTimer(registry, "cached", cachedTimes);
+        bindValidationTimer(registry, "verified", verifiedTimes);
+        bindValidationTimer(registry, "rejected", rejectedTimes);
+        AuthRejections.bindTo(registry);
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+    private static void bindValidationTimer(MeterRegistry registry, String result, ValidationTimes times) {
+        FunctionTimer.builder("jwt.validation", times, ValidationTimes::count, ValidationTimes::totalNanos,
+                        TimeUnit.NANOSECONDS)
+                .description("Time spent validating bearer tokens")
+                .tag("result", result)
+                .register(registry);
     }
 
-    public boolean validateJwtToken(String authToken) {
+    private Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            return parser.parseClaimsJws(authToken).getBody();
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            AuthRejections.record(AuthRejections.Reason.MALFORMED_TOKEN, e.getMessage());
+        } catch (SignatureException e) {
+            AuthRejections.record(AuthRejections.Reason.INVALID_SIGNATURE, e.getMessage());
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            AuthRejections.record(AuthRejections.Reason.EXPIRED, e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            AuthRejections.record(AuthRejections.Reason.UNSUPPORTED, e.getMessage());
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            AuthRejections.record(AuthRejections.Reason.EMPTY_CLAIMS, e.getMessage());
         }
 
-        return false;
+        return null;
+    }
+
+    // Recorded without a registry, so the parser also works outside the application context.
+    private static final class ValidationTimes {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        double totalNanos() {
+            return totalNanos.sum();
+        }
+    }
+
+    private static final class ClaimsExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return Duration.ofMillis(Math.max(remainingMs, 0)).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -0,0 +1,193 @@
+package com.book_management.books.security.ratelimit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Admission control in front of the API. Runs after {@code AuthTokenFilter}:
+ * <ul>
+ * <li>{@code /api/auth/**} and requests without a valid token are rate limited per client IP;</li>
+ * <li>other requests are rate limited per authenticated user;</li>
+ * <li>authenticated {@code /api/books/**} requests additionally need one of a fixed number of
+ * slots, so a single client cannot tie up the whole connection pool. Asynchronous requests such as
+ * exports hold their slot until they complete; the change stream does not use the database and
+ * needs none.</li>
+ * </ul>
+ * Unauthenticated requests never wait for a slot; the security chain answers them with 401.
+ * Throttled requests get 429, requests that cannot get a slot in time get 503; both carry
+ * {@code Retry-After}.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private static final String AUTH_PATH = "/api/auth/";
+    private static final String BOOKS_PATH = "/api/books";
+    private static final String CHANGE_STREAM_PATH = "/api/books/changes/stream";
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY =
+            "{\"message\":\"Error: Too many requests, try again later.\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BUSY_BODY =
+            "{\"message\":\"Error: Server is busy, try again later.\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final KeyedRateLimiter ipLimiter;
+    private final KeyedRateLimiter userLimiter;
+    private final Semaphore databaseSlots;
+    private final long admissionTimeoutMs;
+
+    private final LongAdder ipThrottled = new LongAdder();
+    private final LongAdder userThrottled = new LongAdder();
+    private final LongAdder databaseBusy = new LongAdder();
+
+    public AdmissionControlFilter(
+            KeyedRateLimiter ipLimiter,
+            KeyedRateLimiter userLimiter,
+            int maxConcurrentDatabaseRequests,
+            long admissionTimeoutMs) {
+        this.ipLimiter = ipLimiter;
+        this.userLimiter = userLimiter;
+        this.databaseSlots = new Semaphore(maxConcurrentDatabaseRequests);
+        this.admissionTimeoutMs = admissionTimeoutMs;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("http.server.admission.slots.available", databaseSlots, Semaphore::availablePermits)
+                .description("Free slots for database-bound requests")
+                .register(registry);
+        bindRejectionCounter(registry, "ip", ipThrottled);
+        bindRejectionCounter(registry, "user", userThrottled);
+        bindRejectionCounter(registry, "database", databaseBusy);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getServletPath();
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+
+        long waitNanos;
+        if (path.startsWith(AUTH_PATH) || !authenticated) {
+            waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+            if (waitNanos > 0) {
+                ipThrottled.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos, TOO_MANY_REQUESTS_BODY);
+                return;
+            }
+        } else {
+            waitNanos = userLimiter.tryAcquire(authentication.getName());
+            if (waitNanos > 0) {
+                userThrottled.increment();
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos, TOO_MANY_REQUESTS_BODY);
+                return;
+            }
+        }
+
+        if (!authenticated || !path.startsWith(BOOKS_PATH) || path.equals(CHANGE_STREAM_PATH)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean admitted;
+        try {
+            admitted = databaseSlots.tryAcquire(admissionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            databaseBusy.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1), BUSY_BODY);
+            return;
+        }
+
+        boolean releaseLater = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // The response is still being written on another thread; keep the slot until it is done.
+                request.getAsyncContext().addListener(new SlotReleasingListener());
+                releaseLater = true;
+            }
+        } finally {
+            if (!releaseLater) {
+                databaseSlots.release();
+            }
+        }
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long waitNanos, byte[] body)
+            throws IOException {
+        // Retry-After is in whole seconds; round up so clients do not retry too early.
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private final class SlotReleasingListener implements AsyncListener {
+
+        // Timeouts and errors are followed by onComplete; release only once.
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                databaseSlots.release();
+            }
+        }
+    }
+
+    private static void bindRejectionCounter(MeterRegistry registry, String limit, LongAdder count) {
+        FunctionCounter.builder("http.server.admission.rejected", count, LongAdder::sum)
+                .description("Requests rejected by admission control")
+                .tag("limit", limit)
+                .register(registry);
+    }
+}
@@ -0,0 +1,54 @@
+package com.book_management.books.security.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Token-bucket rate limiter with one bucket per key. Each bucket is a single {@link AtomicLong}
+ * updated by compare-and-set (the GCRA form of a token bucket), so admission never blocks.
+ * Buckets live in a bounded cache and are dropped once idle, after which they would be full again
+ * anyway.
+ */
+public class KeyedRateLimiter {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    public KeyedRateLimiter(double permitsPerSecond, int burst, long maxKeys, Duration idleTimeout) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * Takes one permit for the key.
+     *
+     * @return {@code 0} if the request is admitted, otherwise the nanoseconds until a permit is available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long start = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+            long waitNanos = start - toleranceNanos - now;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.book_management.books.security.services;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.book_management.books.models.Role;
+import com.book_management.books.models.User;
+
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Evicts cached principals whenever a {@link User} or {@link Role} row changes. The callbacks run
+ * at flush, before the change is committed, so a concurrent login may reload and cache the old
+ * row in between; the entry is therefore evicted again once the transaction has completed.
+ */
+@Component
+public class UserCacheInvalidationListener {
+
+    private final UserDetailsCache userDetailsCache;
+
+    public UserCacheInvalidationListener(UserDetailsCache userDetailsCache) {
+        this.userDetailsCache = userDetailsCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Runnable evict = entity instanceof User user
+                ? () -> userDetailsCache.invalidate(user.getUsername())
+                : userDetailsCache::invalidateAll;
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.book_management.books.services;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.book_management.books.bulk.BookImporter;
+import com.book_management.books.changes.BookChangeFeed;
+import com.book_management.books.changes.BookChangeType;
+import com.book_management.books.history.ReadingHistoryRecorder;
+import com.book_management.books.models.Book;
+import com.book_management.books.models.ReadingEventType;
+import com.book_management.books.models.ReadingHistoryEntry;
+import com.book_management.books.payload.response.BookImportResponse;
+import com.book_management.books.payload.response.BookResponse;
+import com.book_management.books.payload.response.ReadingHistoryResponse;
+import com.book_management.books.repository.BookRepository;
+import com.book_management.books.repository.ReadingHistoryRepository;
+import com.book_management.books.repository.UserRepository;
+import com.book_management.books.search.BookSearchIndex;
+import com.book_management.books.stats.ReadingStatsAggregator;
+
+/**
+ * Book reads and writes for a single user. Ownership is part of every query, so a book of
+ * another user is indistinguishable from a missing one. Writes keep the search index, reading
+ * statistics, change feed and reading history in step once their transaction has committed.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BookService {
+
+    private final BookRepository bookRepository;
+    private final UserRepository userRepository;
+    private final ReadingHistoryRepository readingHistoryRepository;
+    private final BookImporter bookImporter;
+    private final BookSearchIndex bookSearchIndex;
+    private final ReadingStatsAggregator readingStatsAggregator;
+    private final BookChangeFeed bookChangeFeed;
+    private final ReadingHistoryRecorder readingHistoryRecorder;
+
+    public BookService(
+            BookRepository bookRepository,
+            UserRepository userRepository,
+            ReadingHistoryRepository readingHistoryRepository,
+            BookImporter bookImporter,
+            BookSearchIndex bookSearchIndex,
+            ReadingStatsAggregator readingStatsAggregator,
+            BookChangeFeed bookChangeFeed,
+            ReadingHistoryRecorder readingHistoryRecorder) {
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.readingHistoryRepository = readingHistoryRepository;
+        this.bookImporter = bookImporter;
+        this.bookSearchIndex = bookSearchIndex;
+        this.readingStatsAggregator = readingStatsAggregator;
+        this.bookChangeFeed = bookChangeFeed;
+        this.readingHistoryRecorder = readingHistoryRecorder;
+    }
+
+    public Optional<BookResponse> findByIdAndUserId(Long id, Long userId) {
+        return bookRepository.findResponseByIdAndUserId(id, userId);
+    }
+
+    public Optional<Long> findVersionByIdAndUserId(Long id, Long userId) {
+        return bookRepository.findVersionByIdAndUserId(id, userId);
+    }
+
+    public boolean existsByIdAndUserId(Long id, Long userId) {
+        return bookRepository.findVersionByIdAndUserId(id, userId).isPresent();
+    }
+
+    public List<BookResponse> findResponses(Specification<Book> spec, Sort sort, int limit) {
+        return bookRepository.findResponses(spec, sort, limit);
+    }
+
+    /**
+     * Saves a new book for the user. Any id or version in the request is ignored, so the body can
+     * neither overwrite an existing book through {@code merge} nor fail as a detached entity.
+     */
+    @Transactional
+    public BookResponse create(Long userId, Book book) {
+        book.setId(null);
+        book.setVersion(null);
+        book.setUser(userRepository.getReferenceById(userId));
+        Book savedBook = bookRepository.save(book);
+        BookResponse created = BookResponse.from(savedBook);
+        afterCommitStatsDelta(userId, () -> readingStatsAggregator.onCreated(userId, created));
+        afterCommit(() -> {
+            bookSearchIndex.onSaved(userId, savedBook);
+            bookChangeFeed.publish(userId, BookChangeType.CREATED, created.getId(), created);
+            readingHistoryRecorder.onCreated(userId, created);
+        });
+        return created;
+    }
+
+    /**
+     * Replaces the book's fields.
+     *
+     * @param expectedVersion version the client last saw, or {@code null} to update unconditionally
+     * @throws OptimisticLockingFailureException if the book is at a different version
+     */
+    @Transactional
+    public Optional<BookResponse> update(Long id, Long userId, Book changes, Long expectedVersion) {
+        Optional<Book> bookData = bookRepository.findByIdAndUserId(id, userId);
+        if (bookData.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Book book = bookData.get();
+        if (expectedVersion != null && !expectedVersion.equals(book.getVersion())) {
+            throw new OptimisticLockingFailureException("Book " + id + " is no longer at version " + expectedVersion);
+        }
+        BookResponse before = BookResponse.from(book);
+        book.setTitle(changes.getTitle());
+        book.setAuthor(changes.getAuthor());
+        book.setReadingStartDate(changes.getReadingStartDate());
+        book.setReadingEndDate(changes.getReadingEndDate());
+        // Flush so the response carries the incremented version.
+        bookRepository.flush();
+        BookResponse after = BookResponse.from(book);
+        afterCommitStatsDelta(userId, () -> readingStatsAggregator.onUpdated(userId, before, after));
+        afterCommit(() -> {
+            bookSearchIndex.onSaved(userId, book);
+            bookChangeFeed.publish(userId, BookChangeType.UPDATED, id, after);
+            readingHistoryRecorder.onUpdated(userId, before, after);
+        });
+        return Optional.of(after);
+    }
+
+    /**
+     * Applies a merge patch with a single UPDATE, without reading the book back.
+     *
+     * @return false if the book does not exist, is not owned by the user or is not at the expected version
+     */
+    @Transactional
+    public boolean patch(Long id, Long userId, Long expectedVersion, Map<String, Object> changes) {
+        if (bookRepository.patch(id, userId, expectedVersion, changes) == 0) {
+            return false;
+        }
+        afterPatch(id, userId, changes, null);
+        return true;
+    }
+
+    /**
+     * Applies a merge patch with a single UPDATE and returns the book's new state.
+     *
+     * @return empty if the book does not exist, is not owned by the user or is not at the expected version
+     */
+    @Transactional
+    public Optional<BookResponse> patchAndRead(Long id, Long userId, Long expectedVersion, Map<String, Object> changes) {
+        if (bookRepository.patch(id, userId, expectedVersion, changes) == 0) {
+            return Optional.empty();
+        }
+        Optional<BookResponse> updated = bookRepository.findResponseByIdAndUserId(id, userId);
+        afterPatch(id, userId, changes, updated.orElse(null));
+        return updated;
+    }
+
+    @Transactional
+    public int delete(Long userId, Collection<Long> ids) {
+        if (ids.size() == 1) {
+            Long id = ids.iterator().next();
+            int affected = bookRepository.deleteByUserIdAndIdIn(userId, ids);
+            if (affected > 0) {
+                afterCommit(() -> {
+                    bookSearchIndex.onDeleted(userId, id);
+                    readingStatsAggregator.invalidate(userId);
+                    bookChangeFeed.publish(userId, BookChangeType.DELETED, id, null);
+                    readingHistoryRecorder.onDeleted(userId, id);
+                });
+            }
+            return affected;
+        }
+
+        // Bulk statements do not say which rows they touched, so the history needs them up front.
+        List<Long> owned = bookRepository.findIdsByUserIdAndIdIn(userId, ids);
+        if (owned.isEmpty()) {
+            return 0;
+        }
+        int affected = bookRepository.deleteByUserIdAndIdIn(userId, owned);
+        if (affected > 0) {
+            afterCommit(() -> {
+                invalidate(userId);
+                owned.forEach(id -> readingHistoryRecorder.onDeleted(userId, id));
+            });
+        }
+        return affected;
+    }
+
+    @Transactional
+    public int deleteRead(Long userId) {
+        List<Long> read = bookRepository.findReadIdsByUserId(userId);
+        if (read.isEmpty()) {
+            return 0;
+        }
+        int affected = bookRepository.deleteReadByUserId(userId);
+        if (affected > 0) {
+            afterCommit(() -> {
+                invalidate(userId);
+                read.forEach(id -> readingHistoryRecorder.onDeleted(userId, id));
+            });
+        }
+        return affected;
+    }
+
+    @Transactional
+    public int markRead(Long userId, Collection<Long> ids, LocalDate readingEndDate) {
+        List<Long> owned = bookRepository.findIdsByUserIdAndIdIn(userId, ids);
+        if (owned.isEmpty()) {
+            return 0;
+        }
+        int affected = bookRepository.updateReadingEndDate(userId, owned, readingEndDate);
+        if (affected > 0) {
+            afterCommit(() -> {
+                readingStatsAggregator.invalidate(userId);
+                bookChangeFeed.publish(userId, BookChangeType.RESET, null, null);
+                owned.forEach(id -> readingHistoryRecorder.onEvent(userId, id, ReadingEventType.FINISHED));
+            });
+        }
+        return affected;
+    }
+
+    public List<ReadingHistoryResponse> findHistory(Long userId, Long beforeId, int limit) {
+        List<ReadingHistoryEntry> entries = beforeId == null
+                ? readingHistoryRepository.findByUserIdOrderByIdDesc(userId, Limit.of(limit))
+                : readingHistoryRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, beforeId, Limit.of(limit));
+        return entries.stream().map(ReadingHistoryResponse::from).toList();
+    }
+
+    // Imports commit batch by batch, so they run outside a surrounding transaction.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BookImportResponse importBooks(Long userId, InputStream body, boolean csv) throws IOException {
+        try {
+            return csv ? bookImporter.importCsv(userId, body) : bookImporter.importNdjson(userId, body);
+        } finally {
+            invalidate(userId);
+        }
+    }
+
+    // Without the new state the feed event carries only the id; subscribers fetch the book themselves.
+    private void afterPatch(Long id, Long userId, Map<String, Object> changes, BookResponse updated) {
+        afterCommit(() -> {
+            bookSearchIndex.onPatched(userId, id, (String) changes.get("title"), (String) changes.get("author"));
+            readingStatsAggregator.invalidate(userId);
+            bookChangeFeed.publish(userId, BookChangeType.UPDATED, id, updated);
+            if (changes.get("readingStartDate") != null) {
+                readingHistoryRecorder.onEvent(userId, id, ReadingEventType.STARTED);
+            }
+            if (changes.get("readingEndDate") != null) {
+                readingHistoryRecorder.onEvent(userId, id, ReadingEventType.FINISHED);
+            }
+        });
+    }
+
+    private void invalidate(Long userId) {
+        bookSearchIndex.invalidate(userId);
+        readingStatsAggregator.invalidate(userId);
+        bookChangeFeed.publish(userId, BookChangeType.RESET, null, null);
+    }
+
+    // Brackets the write for ReadingStatsAggregator, so a rebuild running meanwhile is not kept.
+    private void afterCommitStatsDelta(Long userId, Runnable delta) {
+        readingStatsAggregator.writeStarting(userId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                delta.run();
+            } finally {
+                readingStatsAggregator.writeFinished(userId);
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        delta.run();
+                    }
+                } finally {
+                    readingStatsAggregator.writeFinished(userId);
+                }
+            }
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,131 @@
+package com.book_management.books.stats;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.book_management.books.payload.response.BookResponse;
+import com.book_management.books.payload.response.ReadingStatsResponse;
+import com.book_management.books.payload.response.ReadingStatsResponse.AuthorCount;
+
+/**
+ * Running totals for one user's library. Each book contributes to the totals through
+ * {@link #add} and is taken out again through {@link #remove}, so an update is a remove of
+ * the old state followed by an add of the new one.
+ */
+class ReadingStats {
+
+    private final Lock lock = new ReentrantLock();
+    private final int topAuthorsLimit;
+
+    private long total;
+    private long read;
+    private long durationDaysSum;
+    private long durationCount;
+    private final Map<YearMonth, Long> finishedPerMonth = new TreeMap<>();
+    private final Map<String, Long> authors = new HashMap<>();
+
+    private ReadingStatsResponse snapshot;
+
+    // Set when a write overlapped the rebuild that produced these totals, so they must not be kept.
+    private volatile boolean stale;
+
+    ReadingStats(int topAuthorsLimit) {
+        this.topAuthorsLimit = topAuthorsLimit;
+    }
+
+    void add(BookResponse book) {
+        apply(book, 1);
+    }
+
+    void remove(BookResponse book) {
+        apply(book, -1);
+    }
+
+    void replace(BookResponse before, BookResponse after) {
+        lock.lock();
+        try {
+            applyUnlocked(before, -1);
+            applyUnlocked(after, 1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void markStale() {
+        stale = true;
+    }
+
+    boolean isStale() {
+        return stale;
+    }
+
+    ReadingStatsResponse toResponse() {
+        lock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = buildSnapshot();
+            }
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(BookResponse book, int sign) {
+        lock.lock();
+        try {
+            applyUnlocked(book, sign);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void applyUnlocked(BookResponse book, int sign) {
+        snapshot = null;
+        total += sign;
+        if (book.getAuthor() != null) {
+            authors.merge(book.getAuthor(), (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+        }
+
+        LocalDate end = book.getReadingEndDate();
+        if (end == null) {
+            return;
+        }
+        read += sign;
+        finishedPerMonth.merge(YearMonth.from(end), (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+
+        LocalDate start = book.getReadingStartDate();
+        if (start != null && !end.isBefore(start)) {
+            durationDaysSum += sign * ChronoUnit.DAYS.between(start, end);
+            durationCount += sign;
+        }
+    }
+
+    private ReadingStatsResponse buildSnapshot() {
+        Map<String, Long> perMonth = new LinkedHashMap<>();
+        Map<String, Long> perYear = new TreeMap<>();
+        finishedPerMonth.forEach((month, count) -> {
+            perMonth.put(month.toString(), count);
+            perYear.merge(Integer.toString(month.getYear()), count, Long::sum);
+        });
+
+        List<AuthorCount> topAuthors = authors.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())))
+                .limit(topAuthorsLimit)
+                .map(e -> new AuthorCount(e.getKey(), e.getValue()))
+                .toList();
+
+        Double averageDays = durationCount == 0 ? null : (double) durationDaysSum / durationCount;
+        return new ReadingStatsResponse(total, read, averageDays, perMonth, perYear, topAuthors);
+    }
+}
@@ -0,0 +1,164 @@
+package com.book_management.books.stats;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.book_management.books.payload.response.BookResponse;
+import com.book_management.books.payload.response.ReadingStatsResponse;
+import com.book_management.books.repository.BookRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Keeps per-user reading statistics in memory. A user's statistics are computed from the
+ * database on first access, then updated by a delta on every create and update from
+ * {@code BookService}; writes that do not know the previous state of a book drop the user's
+ * statistics instead. All statistics are periodically discarded and rebuilt on the next read,
+ * which corrects any drift from writes made outside the application.
+ * <p>
+ * A delta is applied after its transaction commits, so a rebuild streaming the library at the same
+ * time may or may not have seen the row already. Writes therefore announce themselves through
+ * {@link #writeStarting} before they commit and {@link #writeFinished} once their delta is applied;
+ * a rebuild that overlaps any of them is served to the reader that triggered it but not kept.
+ */
+@Component
+public class ReadingStatsAggregator implements MeterBinder {
+
+    private final BookRepository bookRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int topAuthorsLimit;
+    private final Cache<Long, ReadingStats> stats;
+    private final ConcurrentMap<Long, WriteFence> fences = new ConcurrentHashMap<>();
+
+    public ReadingStatsAggregator(
+            BookRepository bookRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${book_management.app.statsMaxUsers}") long maxUsers,
+            @Value("${book_management.app.statsTopAuthors}") int topAuthorsLimit) {
+        this.bookRepository = bookRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.topAuthorsLimit = topAuthorsLimit;
+        this.stats = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .recordStats()
+                .build();
+    }
+
+    public ReadingStatsResponse getStats(Long userId) {
+        ReadingStats userStats = stats.get(userId, this::rebuild);
+        if (userStats.isStale()) {
+            stats.asMap().remove(userId, userStats);
+        }
+        return userStats.toResponse();
+    }
+
+    /**
+     * Announces a write whose delta will follow; call inside its transaction, before it commits.
+     */
+    public void writeStarting(Long userId) {
+        fences.compute(userId, (id, fence) -> {
+            WriteFence current = fence == null ? new WriteFence() : fence;
+            current.writesInFlight++;
+            if (current.rebuilding) {
+                current.overlapped = true;
+            }
+            return current;
+        });
+    }
+
+    /**
+     * Ends a write announced by {@link #writeStarting}, after its delta was applied or its
+     * transaction rolled back.
+     */
+    public void writeFinished(Long userId) {
+        fences.computeIfPresent(userId, (id, fence) -> {
+            fence.writesInFlight--;
+            return fence.isIdle() ? null : fence;
+        });
+    }
+
+    public void onCreated(Long userId, BookResponse book) {
+        stats.asMap().computeIfPresent(userId, (id, userStats) -> {
+            userStats.add(book);
+            return userStats;
+        });
+    }
+
+    public void onUpdated(Long userId, BookResponse before, BookResponse after) {
+        stats.asMap().computeIfPresent(userId, (id, userStats) -> {
+            userStats.replace(before, after);
+            return userStats;
+        });
+    }
+
+    public void onDeleted(Long userId, BookResponse book) {
+        stats.asMap().computeIfPresent(userId, (id, userStats) -> {
+            userStats.remove(book);
+            return userStats;
+        });
+    }
+
+    public void invalidate(Long userId) {
+        stats.invalidate(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${book_management.app.statsRebuildIntervalMs}")
+    public void rebuildAll() {
+        stats.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, stats, "reading_stats");
+    }
+
+    private ReadingStats rebuild(Long userId) {
+        fences.compute(userId, (id, fence) -> {
+            WriteFence current = fence == null ? new WriteFence() : fence;
+            current.rebuilding = true;
+            current.overlapped = current.writesInFlight > 0;
+            return current;
+        });
+        ReadingStats userStats = new ReadingStats(topAuthorsLimit);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<BookResponse> books = bookRepository.streamByUserId(userId)) {
+                    books.forEach(userStats::add);
+                }
+            });
+        } finally {
+            fences.computeIfPresent(userId, (id, fence) -> {
+                if (fence.overlapped) {
+                    userStats.markStale();
+                }
+                fence.rebuilding = false;
+                fence.overlapped = false;
+                return fence.isIdle() ? null : fence;
+            });
+        }
+        return userStats;
+    }
+
+    // Per-user write and rebuild bookkeeping; only read or changed inside the map's compute functions.
+    private static final class WriteFence {
+
+        private int writesInFlight;
+        private boolean rebuilding;
+        private boolean overlapped;
+
+        boolean isIdle() {
+            return writesInFlight == 0 && !rebuilding;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Every book query is scoped to one user and then filters or sorts on one of these columns.
+CREATE INDEX idx_book_user_reading_end_date ON book (user_id, reading_end_date);
+CREATE INDEX idx_book_user_reading_start_date ON book (user_id, reading_start_date);
+CREATE INDEX idx_book_user_title ON book (user_id, title);
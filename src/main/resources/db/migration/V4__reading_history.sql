@@ -0,0 +1,11 @@
+CREATE TABLE reading_history (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    event_type VARCHAR(20) NOT NULL,
+    title VARCHAR(30),
+    author VARCHAR(30),
+    occurred_at TIMESTAMP(3) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_reading_history_user_id (user_id, id)
+) ENGINE = InnoDB;
@@ -0,0 +1,89 @@
+package com.book_management.books.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.book_management.books.models.ERole;
+import com.book_management.books.models.Role;
+import com.book_management.books.repository.RoleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Boots the application on a real Tomcat, since compression happens in the connector and not in
+ * the MVC layer, and checks that a page of books is sent gzipped.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:compression;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.flyway.enabled=false",
+        "management.server.port=0"
+})
+class BookResponseCompressionTest {
+
+    private static final String PASSWORD = "secret-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void bookListIsGzipped() throws IOException, InterruptedException {
+        roleRepository.save(new Role(ERole.ROLE_USER));
+        assertThat(post("/api/auth/signup", "{\"username\":\"reader\",\"email\":\"reader@example.com\",\"password\":\""
+                + PASSWORD + "\"}", null).statusCode()).isEqualTo(200);
+        HttpResponse<String> signIn = post("/api/auth/signin",
+                "{\"username\":\"reader\",\"password\":\"" + PASSWORD + "\"}", null);
+        assertThat(signIn.statusCode()).isEqualTo(200);
+        String authorization = "Bearer " + new ObjectMapper().readTree(signIn.body()).get("accessToken").asText();
+
+        // Enough books for the page to pass server.compression.min-response-size.
+        for (int i = 0; i < 40; i++) {
+            assertThat(post("/api/books/add",
+                    "{\"title\":\"Title " + i + "\",\"author\":\"Author " + i + "\",\"readingStartDate\":\"2024-01-01\"}",
+                    authorization).statusCode()).isBetween(200, 299);
+        }
+
+        HttpResponse<byte[]> page = client.send(HttpRequest.newBuilder(uri("/api/books?size=50"))
+                        .header("Authorization", authorization)
+                        .header("Accept", "application/json")
+                        .header("Accept-Encoding", "gzip")
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(page.statusCode()).isEqualTo(200);
+        assertThat(page.headers().firstValue("ETag")).hasValueSatisfying(eTag -> assertThat(eTag).startsWith("W/"));
+        assertThat(page.headers().firstValue("Content-Encoding")).hasValue("gzip");
+    }
+
+    private HttpResponse<String> post(String path, String json, String authorization)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,248 @@
+package com.book_management.books.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import com.book_management.books.models.Book;
+import com.book_management.books.payload.response.BookResponse;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Checks that the statements Hibernate actually sends for the owner-scoped finders, the sort and
+ * cursor pages, the title search, the locking id selects, the bulk writes and the reading history
+ * are served by the {@code (user_id, …)} indexes rather than by a table or full index scan. The
+ * statements are taken from the MySQL general log, where client-side prepared statements appear
+ * with their parameters inlined, and explained as sent. Runs against MySQL, since H2 neither drops
+ * the implicit foreign key index nor uses an index to avoid sorting, and so plans these differently.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "management.server.port=0")
+class BookQueryPlanTest {
+
+    private static final Pattern DATA_STATEMENT =
+            Pattern.compile("(?is)^\\s*(select|update|delete)\\b.*\\b(book|reading_history)\\b.*");
+
+    private static final int USERS = 20;
+    private static final int BOOKS_PER_USER = 500;
+    private static final int HISTORY_PER_USER = 200;
+    private static final long USER_ID = 7;
+    private static final int PAGE = 51;
+
+    // Root, to be allowed to switch on and read the general log.
+    @Container
+    private static final MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0").withUsername("root");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+    }
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ReadingHistoryRepository readingHistoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password, role_id) VALUES (?, ?, 'x', 1)",
+                Stream.iterate(1, user -> user + 1).limit(USERS)
+                        .map(user -> new Object[] {"user" + user, "user" + user + "@example.com"})
+                        .toList());
+
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int user = 1; user <= USERS; user++) {
+            long userId = user;
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO book (title, author, reading_start_date, reading_end_date, user_id) VALUES (?, ?, ?, ?, ?)",
+                    Stream.iterate(0, i -> i + 1).limit(BOOKS_PER_USER)
+                            .map(i -> new Object[] {
+                                    "Title " + (i * 7919 % BOOKS_PER_USER),
+                                    "Author " + i % 50,
+                                    Date.valueOf(start.plusDays(i)),
+                                    i % 3 == 0 ? null : Date.valueOf(start.plusDays(i + 30)),
+                                    userId})
+                            .toList());
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO reading_history (user_id, book_id, event_type, title, author, occurred_at) "
+                            + "VALUES (?, ?, 'ADDED', ?, ?, ?)",
+                    Stream.iterate(0, i -> i + 1).limit(HISTORY_PER_USER)
+                            .map(i -> new Object[] {
+                                    userId, (long) i, "Title " + i, "Author " + i % 50,
+                                    Timestamp.from(Instant.parse("2024-01-01T00:00:00Z").plusSeconds(i))})
+                            .toList());
+        }
+        jdbcTemplate.execute("ANALYZE TABLE book, reading_history");
+        jdbcTemplate.execute("SET GLOBAL log_output = 'TABLE'");
+        jdbcTemplate.execute("SET GLOBAL general_log = 'ON'");
+    }
+
+    @Test
+    void ownerScopedFindersUseUserIndexes() {
+        assertPlan("idx_book_user_reading_end_date",
+                () -> page(BookSpecifications.readingEndDateEquals(LocalDate.parse("2020-03-01")), "id"));
+        assertPlan("idx_book_user_reading_end_date",
+                () -> page(BookSpecifications.isNotRead(), "id"));
+        assertPlan("idx_book_user_reading_end_date",
+                () -> page(BookSpecifications.dateBetween("readingEndDate",
+                        LocalDate.parse("2020-02-01"), LocalDate.parse("2020-02-15")), "id"));
+        assertPlan("idx_book_user_reading_start_date",
+                () -> page(BookSpecifications.dateBetween("readingStartDate",
+                        LocalDate.parse("2020-02-01"), LocalDate.parse("2020-02-15")), "id"));
+    }
+
+    @Test
+    void titleSearchIsScopedByUserIndex() {
+        // A leading wildcard rules out a range on title, so any (user_id, …) index will do.
+        assertUserIndexed(() -> page(BookSpecifications.titleContainsIgnoreCase("itle 1"), "id"));
+        assertUserIndexed(() -> page(BookSpecifications.titleOrAuthorContainsIgnoreCase("thor 4"), "id"));
+    }
+
+    @Test
+    void sortedPagesReadTheirIndexInOrder() {
+        assertPlan("idx_book_user_title",
+                () -> page(null, "title"));
+        assertPlan("idx_book_user_reading_start_date",
+                () -> page(null, "readingStartDate", Sort.Direction.DESC));
+        assertPlan("idx_book_user_reading_end_date",
+                () -> page(null, "readingEndDate"));
+    }
+
+    @Test
+    void cursorPagesSeekIntoTheirIndex() {
+        assertPlan("idx_book_user_title",
+                () -> page(BookSpecifications.after(new BookCursor("title", "Title 250", 3000L), Sort.Direction.ASC),
+                        "title"));
+        assertPlan("idx_book_user_reading_start_date",
+                () -> page(BookSpecifications.after(new BookCursor("readingStartDate", "2020-06-01", 3000L),
+                        Sort.Direction.DESC), "readingStartDate", Sort.Direction.DESC));
+    }
+
+    @Test
+    void lockingSelectsOnlyTouchTheirRows() {
+        // Named rows are found through the primary key; the user_id check is applied to those rows.
+        assertPlan("PRIMARY",
+                () -> rolledBack(() -> bookRepository.findIdsByUserIdAndIdIn(USER_ID, List.of(3001L, 3002L, 3003L))));
+        assertPlan("idx_book_user_reading_end_date",
+                () -> rolledBack(() -> bookRepository.findReadIdsByUserId(USER_ID)));
+    }
+
+    @Test
+    void bulkStatementsAreIndexed() {
+        assertPlan("idx_book_user_reading_end_date",
+                () -> rolledBack(() -> bookRepository.deleteReadByUserId(USER_ID)));
+        assertPlan("PRIMARY",
+                () -> rolledBack(() -> bookRepository.deleteByUserIdAndIdIn(USER_ID, List.of(3001L, 3002L, 3003L))));
+        assertPlan("PRIMARY",
+                () -> rolledBack(() -> bookRepository.updateReadingEndDate(
+                        USER_ID, List.of(3001L, 3002L, 3003L), LocalDate.parse("2024-01-01"))));
+        assertUserIndexed(() -> rolledBack(() -> {
+            try (Stream<BookResponse> books = bookRepository.streamByUserId(USER_ID)) {
+                return books.count();
+            }
+        }));
+    }
+
+    @Test
+    void historyPagesSeekIntoUserIndex() {
+        long userHistoryStart = (USER_ID - 1) * HISTORY_PER_USER;
+        assertPlan("idx_reading_history_user_id",
+                () -> readingHistoryRepository.findByUserIdOrderByIdDesc(USER_ID, Limit.of(PAGE)));
+        assertPlan("idx_reading_history_user_id",
+                () -> readingHistoryRepository.findByUserIdAndIdLessThanOrderByIdDesc(
+                        USER_ID, userHistoryStart + HISTORY_PER_USER / 2, Limit.of(PAGE)));
+    }
+
+    private List<BookResponse> page(Specification<Book> filter, String sortField) {
+        return page(filter, sortField, Sort.Direction.ASC);
+    }
+
+    private List<BookResponse> page(Specification<Book> filter, String sortField, Sort.Direction direction) {
+        Sort sort = "id".equals(sortField) ? Sort.by(direction, "id") : Sort.by(direction, sortField, "id");
+        return bookRepository.findResponses(BookSpecifications.ownedBy(USER_ID).and(filter), sort, PAGE);
+    }
+
+    private <T> T rolledBack(Supplier<T> work) {
+        return transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            return work.get();
+        });
+    }
+
+    private void assertPlan(String expectedIndex, Runnable work) {
+        for (String sql : capture(work)) {
+            for (Map<String, Object> row : explain(sql)) {
+                assertThat((String) row.get("type")).as("access type of %s", sql).isNotIn("ALL", "index");
+                assertThat((String) row.get("key")).as("index used by %s", sql).isEqualTo(expectedIndex);
+            }
+        }
+    }
+
+    private void assertUserIndexed(Runnable work) {
+        for (String sql : capture(work)) {
+            for (Map<String, Object> row : explain(sql)) {
+                assertThat((String) row.get("type")).as("access type of %s", sql).isNotIn("ALL", "index");
+                assertThat((String) row.get("key")).as("index used by %s", sql).startsWith("idx_book_user_");
+            }
+        }
+    }
+
+    /**
+     * Runs {@code work} and returns the statements on {@code book} and {@code reading_history} it
+     * sent, bypassing the query cache so that every finder reaches the database.
+     */
+    private List<String> capture(Runnable work) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        jdbcTemplate.execute("TRUNCATE TABLE mysql.general_log");
+        work.run();
+        List<String> statements = jdbcTemplate.queryForList(
+                        "SELECT CONVERT(argument USING utf8mb4) FROM mysql.general_log "
+                                + "WHERE command_type = 'Query' ORDER BY event_time",
+                        String.class).stream()
+                .filter(sql -> DATA_STATEMENT.matcher(sql).matches())
+                .toList();
+        assertThat(statements).as("statements captured from the general log").isNotEmpty();
+        return statements;
+    }
+
+    private List<Map<String, Object>> explain(String sql) {
+        return jdbcTemplate.queryForList("EXPLAIN " + sql);
+    }
+}